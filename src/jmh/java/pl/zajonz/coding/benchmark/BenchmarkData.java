@@ -0,0 +1,80 @@
+package pl.zajonz.coding.benchmark;
+
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Entities shaped like the production data, every teacher knows two or three languages and has two students.
+ */
+final class BenchmarkData {
+
+    static final LocalDateTime FIRST_TERM = LocalDate.now().plusDays(1).atTime(8, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Teacher> teachers(int count) {
+        List<Teacher> teachers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            teachers.add(Teacher.builder()
+                    .id(i)
+                    .firstName("Teacher")
+                    .lastName("Nauczyciel" + i)
+                    .languages(languages(i))
+                    .build());
+        }
+        return teachers;
+    }
+
+    static List<Student> students(List<Teacher> teachers) {
+        List<Student> students = new ArrayList<>(teachers.size() * 2);
+        for (Teacher teacher : teachers) {
+            for (int i = 0; i < 2; i++) {
+                students.add(Student.builder()
+                        .id(students.size() + 1)
+                        .firstName("Student")
+                        .lastName("Uczen" + (students.size() + 1))
+                        .language(teacher.getLanguages().iterator().next())
+                        .teacher(teacher)
+                        .build());
+            }
+        }
+        return students;
+    }
+
+    /**
+     * @return lessons of the students spread over the following days, at most five a day per teacher
+     */
+    static List<Lesson> lessons(List<Student> students, int count) {
+        List<Lesson> lessons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = students.get(i % students.size());
+            int ofTeacher = 2 * (i / students.size()) + i % 2;
+            lessons.add(Lesson.builder()
+                    .id(i + 1)
+                    .teacher(student.getTeacher())
+                    .student(student)
+                    .term(FIRST_TERM.plusDays(ofTeacher / 5).plusHours(2L * (ofTeacher % 5)))
+                    .duration(Lesson.DEFAULT_DURATION)
+                    .build());
+        }
+        return lessons;
+    }
+
+    private static EnumSet<Language> languages(int seed) {
+        Language[] values = Language.values();
+        EnumSet<Language> languages = EnumSet.of(values[seed % values.length], values[(seed + 2) % values.length]);
+        if (seed % 3 == 0) {
+            languages.add(values[(seed + 4) % values.length]);
+        }
+        return languages;
+    }
+}
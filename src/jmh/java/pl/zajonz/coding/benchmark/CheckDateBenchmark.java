@@ -0,0 +1,106 @@
+package pl.zajonz.coding.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.zajonz.coding.CodingApplication;
+import pl.zajonz.coding.common.LanguageSetConverter;
+import pl.zajonz.coding.lesson.LessonSchedule;
+import pl.zajonz.coding.lesson.LessonService;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LessonService#checkDate} of the application started on the in-memory database, with the schedule loaded
+ * from {@value #TEACHERS} teachers having {@value #LESSONS_PER_TEACHER} future lessons each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckDateBenchmark {
+
+    private static final int TEACHERS = 200;
+    private static final int LESSONS_PER_TEACHER = 250;
+    private static final int TERMS = 1024;
+
+    private ConfigurableApplicationContext context;
+    private LessonService lessonService;
+    private final int[] teacherIds = new int[TERMS];
+    private final LocalDateTime[] freeTerms = new LocalDateTime[TERMS];
+    private final LocalDateTime[] conflictingTerms = new LocalDateTime[TERMS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CodingApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run();
+        List<Teacher> teachers = BenchmarkData.teachers(TEACHERS);
+        List<Student> students = BenchmarkData.students(teachers);
+        List<Lesson> lessons = BenchmarkData.lessons(students, TEACHERS * LESSONS_PER_TEACHER);
+        insert(context.getBean(JdbcTemplate.class), teachers, students, lessons);
+        context.getBean(LessonSchedule.class).load();
+        lessonService = context.getBean(LessonService.class);
+
+        Random random = new Random(42);
+        for (int i = 0; i < TERMS; i++) {
+            Lesson lesson = lessons.get(random.nextInt(lessons.size()));
+            teacherIds[i] = lesson.getTeacher().getId();
+            freeTerms[i] = lesson.getTerm().plusMinutes(lesson.getDuration());
+            conflictingTerms[i] = lesson.getTerm().plusMinutes(lesson.getDuration() / 2);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean freeTerm() {
+        int i = next++ & (TERMS - 1);
+        return lessonService.checkDate(freeTerms[i], Lesson.DEFAULT_DURATION, teacherIds[i]);
+    }
+
+    @Benchmark
+    public boolean conflictingTerm() {
+        int i = next++ & (TERMS - 1);
+        return lessonService.checkDate(conflictingTerms[i], Lesson.DEFAULT_DURATION, teacherIds[i]);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Teacher> teachers, List<Student> students,
+                               List<Lesson> lessons) {
+        LanguageSetConverter languageSetConverter = new LanguageSetConverter();
+        jdbcTemplate.batchUpdate("INSERT INTO teacher (id, first_name, last_name, languages) VALUES (?, ?, ?, ?)",
+                teachers.stream()
+                        .map(teacher -> new Object[]{teacher.getId(), teacher.getFirstName(), teacher.getLastName(),
+                                languageSetConverter.convertToDatabaseColumn(teacher.getLanguages())})
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO student (id, first_name, last_name, language, teacher_id) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                students.stream()
+                        .map(student -> new Object[]{student.getId(), student.getFirstName(), student.getLastName(),
+                                student.getLanguage().name(), student.getTeacher().getId()})
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO lesson (id, student_id, teacher_id, term, duration) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                lessons.stream()
+                        .map(lesson -> new Object[]{lesson.getId(), lesson.getStudent().getId(),
+                                lesson.getTeacher().getId(), Timestamp.valueOf(lesson.getTerm()),
+                                lesson.getDuration()})
+                        .toList());
+    }
+}
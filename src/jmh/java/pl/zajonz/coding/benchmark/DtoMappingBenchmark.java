@@ -0,0 +1,59 @@
+package pl.zajonz.coding.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.student.model.dto.StudentDto;
+import pl.zajonz.coding.teacher.model.Teacher;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a page of entities to DTOs, the default and the maximal page size of the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<Teacher> teachers;
+    private List<Student> students;
+    private List<Lesson> lessons;
+
+    @Setup
+    public void setUp() {
+        teachers = BenchmarkData.teachers(size);
+        students = BenchmarkData.students(teachers).subList(0, size);
+        lessons = BenchmarkData.lessons(students, size);
+    }
+
+    @Benchmark
+    public List<LessonDto> lessonDtoFromEntity() {
+        return lessons.stream()
+                .map(LessonDto::fromEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public List<TeacherDto> teacherDtoFromEntity() {
+        return teachers.stream()
+                .map(TeacherDto::fromEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public List<StudentDto> studentDtoFromEntity() {
+        return students.stream()
+                .map(StudentDto::fromEntity)
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package pl.zajonz.coding.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.student.model.dto.StudentDto;
+import pl.zajonz.coding.teacher.model.Teacher;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a page of DTOs with an object mapper configured the way Spring Boot configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<TeacherDto> teachers;
+    private List<StudentDto> students;
+    private List<LessonDto> lessons;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Teacher> teacherEntities = BenchmarkData.teachers(size);
+        List<Student> studentEntities = BenchmarkData.students(teacherEntities).subList(0, size);
+        List<Lesson> lessonEntities = BenchmarkData.lessons(studentEntities, size);
+        teachers = teacherEntities.stream().map(TeacherDto::fromEntity).toList();
+        students = studentEntities.stream().map(StudentDto::fromEntity).toList();
+        lessons = lessonEntities.stream().map(LessonDto::fromEntity).toList();
+    }
+
+    @Benchmark
+    public byte[] lessons() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lessons);
+    }
+
+    @Benchmark
+    public byte[] teachers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(teachers);
+    }
+
+    @Benchmark
+    public byte[] students() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+}
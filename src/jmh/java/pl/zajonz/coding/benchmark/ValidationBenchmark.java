@@ -0,0 +1,78 @@
+package pl.zajonz.coding.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.teacher.model.command.CreateTeacherCommand;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of the create commands, both valid ones and ones breaking every constraint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateLessonCommand validLesson;
+    private CreateLessonCommand invalidLesson;
+    private CreateTeacherCommand validTeacher;
+    private CreateTeacherCommand invalidTeacher;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validLesson = new CreateLessonCommand();
+        validLesson.setStudentId(1);
+        validLesson.setTeacherId(1);
+        validLesson.setTerm(BenchmarkData.FIRST_TERM);
+        validLesson.setDuration(60);
+        invalidLesson = new CreateLessonCommand();
+        invalidLesson.setStudentId(0);
+        invalidLesson.setDuration(300);
+        validTeacher = new CreateTeacherCommand();
+        validTeacher.setFirstName("Jan");
+        validTeacher.setLastName("Kowalski");
+        validTeacher.setLanguages(Set.of(Language.JAVA, Language.PYTHON));
+        invalidTeacher = new CreateTeacherCommand();
+        invalidTeacher.setFirstName("jan");
+        invalidTeacher.setLastName("");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateLessonCommand>> validLesson() {
+        return validator.validate(validLesson);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateLessonCommand>> invalidLesson() {
+        return validator.validate(invalidLesson);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTeacherCommand>> validTeacher() {
+        return validator.validate(validTeacher);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTeacherCommand>> invalidTeacher() {
+        return validator.validate(invalidTeacher);
+    }
+}
@@ -0,0 +1,53 @@
+package pl.zajonz.coding.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Requests sent by the load test. Bookings pick a random student, teacher and 15-minute aligned term within the next
+ * 90 days, so some of them are rejected as conflicting, the same way as in production.
+ */
+enum Endpoint {
+
+    TEACHERS {
+        @Override
+        HttpRequest request(String target, Random random, LoadTestData data) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/v1/teachers")).GET().build();
+        }
+    },
+    STUDENTS {
+        @Override
+        HttpRequest request(String target, Random random, LoadTestData data) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/v1/students")).GET().build();
+        }
+    },
+    LESSONS {
+        @Override
+        HttpRequest request(String target, Random random, LoadTestData data) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/v1/lessons")).GET().build();
+        }
+    },
+    BOOKING {
+        @Override
+        HttpRequest request(String target, Random random, LoadTestData data) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/v1/lessons"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(lesson(random, data)))
+                    .build();
+        }
+    };
+
+    abstract HttpRequest request(String target, Random random, LoadTestData data);
+
+    static String lesson(Random random, LoadTestData data) {
+        LocalDateTime term = LocalDate.now().plusDays(1 + random.nextInt(90))
+                .atTime(8, 0)
+                .plusMinutes(15L * random.nextInt(48));
+        return "{\"teacherId\":" + data.randomTeacherId(random)
+                + ",\"studentId\":" + data.randomStudentId(random)
+                + ",\"term\":\"" + term + "\",\"duration\":60}";
+    }
+}
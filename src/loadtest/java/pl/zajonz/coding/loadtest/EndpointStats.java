@@ -0,0 +1,37 @@
+package pl.zajonz.coding.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds and outcomes of the requests sent to one endpoint after the warm-up. Client errors are
+ * counted as rejections, as the load deliberately books taken terms, anything else but a success is an error.
+ */
+@Getter
+class EndpointStats {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param status HTTP status or -1 when no response has been received
+     */
+    void record(long latencyNanos, int status) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY));
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package pl.zajonz.coding.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.zajonz.coding.CodingApplication;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop load test of the teacher, student and lesson endpoints. Unless {@code --target} points to a running
+ * instance, the application is started with the {@code h2} profile on a random port, so every run begins with the
+ * same empty database. Each of the {@code --concurrency} clients sends its next request as soon as the previous one
+ * completes, picking the endpoint by the weights of {@code --mix}. Results are written to {@code --output} and, when
+ * {@code --baseline} names the results of an earlier run, compared with them.
+ * <p>
+ * Run with {@code mvn -Ploadtest compile exec:exec -Dloadtest.args="--concurrency=64 --duration=PT2M"}, with
+ * {@code --profiles} selecting the profiles of the started application.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        ConfigurableApplicationContext context = null;
+        String target = settings.getTarget();
+        if (target == null) {
+            context = new SpringApplicationBuilder(CodingApplication.class)
+                    .profiles(settings.getProfiles().split(","))
+                    .properties("server.port=0", "logging.level.root=warn")
+                    .run();
+            target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        int exitCode;
+        try {
+            exitCode = run(settings, target);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestSettings settings, String target) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadTestData data = LoadTestData.create(client, objectMapper, target, settings);
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        settings.getMix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long measureTo = measureFrom + settings.getDuration().toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(settings.getConcurrency());
+        try {
+            List<Future<Void>> running = clients.invokeAll(IntStream.range(0, settings.getConcurrency())
+                    .mapToObj(i -> (Callable<Void>) () -> {
+                        sendUntil(client, target, settings, data, stats, new Random(settings.getSeed() + i),
+                                measureFrom, measureTo);
+                        return null;
+                    })
+                    .toList());
+            for (Future<Void> future : running) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        LoadTestReport report = new LoadTestReport(objectMapper, settings, stats);
+        report.print(System.out);
+        report.write(settings.getOutput());
+        if (settings.getBaseline() == null) {
+            return 0;
+        }
+        List<String> regressions = report.compare(settings.getBaseline());
+        regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+        return regressions.isEmpty() ? 0 : 1;
+    }
+
+    private static void sendUntil(HttpClient client, String target, LoadTestSettings settings, LoadTestData data,
+                                  Map<Endpoint, EndpointStats> stats, Random random, long measureFrom,
+                                  long measureTo) throws InterruptedException {
+        int totalWeight = settings.getMix().values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < measureTo) {
+            Endpoint endpoint = pick(settings.getMix(), random.nextInt(totalWeight));
+            HttpRequest request = endpoint.request(target, random, data);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = -1;
+            }
+            if (start >= measureFrom) {
+                stats.get(endpoint).record(System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    private static Endpoint pick(Map<Endpoint, Integer> mix, int roll) {
+        for (Map.Entry<Endpoint, Integer> weight : mix.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights of the mix have to be positive");
+    }
+}
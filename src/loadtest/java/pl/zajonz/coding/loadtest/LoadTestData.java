@@ -0,0 +1,84 @@
+package pl.zajonz.coding.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Teachers, students and lessons created through the API before the measurement starts.
+ */
+class LoadTestData {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final List<Integer> teacherIds = new ArrayList<>();
+    private final List<Integer> studentIds = new ArrayList<>();
+
+    static LoadTestData create(HttpClient client, ObjectMapper objectMapper, String target,
+                               LoadTestSettings settings) throws IOException, InterruptedException {
+        LoadTestData data = new LoadTestData();
+        for (int i = 0; i < settings.getTeachers(); i++) {
+            JsonNode teacher = post(client, objectMapper, target + "/api/v1/teachers",
+                    "{\"firstName\":\"Teacher\",\"lastName\":\"" + name(i) + "\",\"languages\":[\"JAVA\"]}");
+            data.teacherIds.add(teacher.get("id").asInt());
+        }
+        for (int i = 0; i < settings.getStudents(); i++) {
+            JsonNode student = post(client, objectMapper, target + "/api/v1/students",
+                    "{\"firstName\":\"Student\",\"lastName\":\"" + name(i) + "\",\"language\":\"JAVA\","
+                            + "\"teacherId\":" + data.teacherIds.get(i % data.teacherIds.size()) + "}");
+            data.studentIds.add(student.get("id").asInt());
+        }
+        Random random = new Random(settings.getSeed());
+        for (int created = 0; created < settings.getLessons(); created += BATCH_SIZE) {
+            StringJoiner lessons = new StringJoiner(",", "[", "]");
+            for (int i = created; i < Math.min(created + BATCH_SIZE, settings.getLessons()); i++) {
+                lessons.add(Endpoint.lesson(random, data));
+            }
+            post(client, objectMapper, target + "/api/v1/lessons/batch", lessons.toString());
+        }
+        return data;
+    }
+
+    int randomTeacherId(Random random) {
+        return teacherIds.get(random.nextInt(teacherIds.size()));
+    }
+
+    int randomStudentId(Random random) {
+        return studentIds.get(random.nextInt(studentIds.size()));
+    }
+
+    private static JsonNode post(HttpClient client, ObjectMapper objectMapper, String uri, String body)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(uri))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Creating the test data failed with " + response.statusCode() + ": "
+                    + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    /**
+     * @return name matching the pattern of the commands, made of the letters of the number in base 26
+     */
+    private static String name(int number) {
+        StringBuilder name = new StringBuilder("N");
+        do {
+            name.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return name.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package pl.zajonz.coding.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of every endpoint, written as {@code run-<time>.json} together with the full
+ * percentile distribution of every endpoint in HdrHistogram's {@code .hgrm} format.
+ */
+class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ObjectMapper objectMapper;
+    private final Map<Endpoint, EndpointStats> stats;
+    private final double maxRegression;
+    private final Map<String, Object> summary = new LinkedHashMap<>();
+
+    LoadTestReport(ObjectMapper objectMapper, LoadTestSettings settings, Map<Endpoint, EndpointStats> stats) {
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.maxRegression = settings.getMaxRegression();
+        summary.put("startedAt", LocalDateTime.now().toString());
+        summary.put("settings", Map.of(
+                "profiles", settings.getProfiles(),
+                "concurrency", settings.getConcurrency(),
+                "warmup", settings.getWarmup().toString(),
+                "duration", settings.getDuration().toString(),
+                "seed", settings.getSeed(),
+                "mix", settings.getMix()));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        double seconds = settings.getDuration().toMillis() / 1000.0;
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram histogram = endpointStats.getHistogram();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", histogram.getTotalCount());
+            result.put("throughput", histogram.getTotalCount() / seconds);
+            result.put("succeeded", endpointStats.getSucceeded().sum());
+            result.put("rejected", endpointStats.getRejected().sum());
+            result.put("failed", endpointStats.getFailed().sum());
+            result.put("p50", millis(histogram.getValueAtPercentile(50)));
+            result.put("p90", millis(histogram.getValueAtPercentile(90)));
+            result.put("p99", millis(histogram.getValueAtPercentile(99)));
+            result.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            result.put("max", millis(histogram.getMaxValue()));
+            endpoints.put(endpoint.name(), result);
+        });
+        summary.put("endpoints", endpoints);
+    }
+
+    @SuppressWarnings("unchecked")
+    void print(PrintStream out) {
+        out.printf("%-10s %10s %10s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "rejected",
+                "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        ((Map<String, Map<String, Object>>) summary.get("endpoints")).forEach((endpoint, result) ->
+                out.printf("%-10s %10d %10.1f %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                        result.get("requests"), result.get("throughput"), result.get("rejected"),
+                        result.get("failed"), result.get("p50"), result.get("p90"), result.get("p99"),
+                        result.get("p999"), result.get("max")));
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String name = "run-" + LocalDateTime.now().format(FILE_TIME);
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve(name + ".json").toFile(), summary);
+        for (Map.Entry<Endpoint, EndpointStats> endpoint : stats.entrySet()) {
+            Path file = directory.resolve(name + "-" + endpoint.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                endpoint.getValue().getHistogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * @return endpoints whose 99th percentile grew or whose throughput dropped by more than the allowed ratio
+     */
+    @SuppressWarnings("unchecked")
+    List<String> compare(Path baselineFile) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselineFile.toFile()).get("endpoints");
+        List<String> regressions = new ArrayList<>();
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) summary.get("endpoints");
+        for (Map.Entry<String, Map<String, Object>> endpoint : endpoints.entrySet()) {
+            JsonNode previous = baseline.get(endpoint.getKey());
+            if (previous == null) {
+                continue;
+            }
+            double p99 = (double) endpoint.getValue().get("p99");
+            double throughput = (double) endpoint.getValue().get("throughput");
+            if (p99 > previous.get("p99").asDouble() * (1 + maxRegression)) {
+                regressions.add(String.format("%s p99 %.2f ms, baseline %.2f ms", endpoint.getKey(), p99,
+                        previous.get("p99").asDouble()));
+            }
+            if (throughput < previous.get("throughput").asDouble() * (1 - maxRegression)) {
+                regressions.add(String.format("%s throughput %.1f req/s, baseline %.1f req/s", endpoint.getKey(),
+                        throughput, previous.get("throughput").asDouble()));
+            }
+        }
+        return regressions;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
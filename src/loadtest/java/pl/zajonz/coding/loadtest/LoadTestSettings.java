@@ -0,0 +1,74 @@
+package pl.zajonz.coding.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run given as {@code --name=value} arguments, every one of them has a default, so two runs
+ * started with the same arguments generate the same data and the same sequence of requests.
+ */
+@Getter
+class LoadTestSettings {
+
+    private String target;
+    private String profiles = "h2";
+    private int concurrency = 32;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private long seed = 42;
+    private int teachers = 50;
+    private int students = 200;
+    private int lessons = 2000;
+    private final Map<Endpoint, Integer> mix = new EnumMap<>(Map.of(
+            Endpoint.TEACHERS, 30,
+            Endpoint.STUDENTS, 25,
+            Endpoint.LESSONS, 25,
+            Endpoint.BOOKING, 20));
+    private Path output = Path.of("target", "loadtest");
+    private Path baseline;
+    private double maxRegression = 0.10;
+
+    static LoadTestSettings parse(String[] args) {
+        LoadTestSettings settings = new LoadTestSettings();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments have to be given as --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> settings.target = value;
+                case "profiles" -> settings.profiles = value;
+                case "concurrency" -> settings.concurrency = Integer.parseInt(value);
+                case "warmup" -> settings.warmup = Duration.parse(value);
+                case "duration" -> settings.duration = Duration.parse(value);
+                case "seed" -> settings.seed = Long.parseLong(value);
+                case "teachers" -> settings.teachers = Integer.parseInt(value);
+                case "students" -> settings.students = Integer.parseInt(value);
+                case "lessons" -> settings.lessons = Integer.parseInt(value);
+                case "mix" -> settings.parseMix(value);
+                case "output" -> settings.output = Path.of(value);
+                case "baseline" -> settings.baseline = Path.of(value);
+                case "max-regression" -> settings.maxRegression = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown argument " + name);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Method parses weights of the endpoints, e.g. {@code teachers:30,students:25,lessons:25,booking:20}, the
+     * endpoints left out are not called
+     */
+    private void parseMix(String value) {
+        mix.clear();
+        for (String weight : value.split(",")) {
+            String[] parts = weight.split(":");
+            mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+}
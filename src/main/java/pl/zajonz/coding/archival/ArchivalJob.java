@@ -0,0 +1,106 @@
+package pl.zajonz.coding.archival;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.zajonz.coding.archival.model.ArchivalResult;
+import pl.zajonz.coding.common.AfterCommit;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.lesson.LessonSchedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves soft deleted rows and lessons older than {@link ArchivalProperties#getLessonAge()} into the archive tables.
+ * Candidates are selected in batches ordered by id without locking, then each batch is moved in its own short
+ * transaction locking only the rows of the batch by their primary key.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ArchivalProperties.class)
+public class ArchivalJob {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ResourceVersions resourceVersions;
+    private final LessonSchedule lessonSchedule;
+    private final ArchivalProperties properties;
+
+    @Scheduled(cron = "${coding.archival.cron:0 30 3 * * *}")
+    public void run() {
+        archive();
+    }
+
+    /**
+     * @return number of rows moved from each of the tables and the time it took
+     */
+    public List<ArchivalResult> archive() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ArchivalResult> results = new ArrayList<>();
+        for (ArchivedTable table : ArchivedTable.values()) {
+            results.add(archive(table, now));
+        }
+        return results;
+    }
+
+    private ArchivalResult archive(ArchivedTable table, LocalDateTime now) {
+        long start = System.nanoTime();
+        int rows = 0;
+        int afterId = 0;
+        List<Integer> candidates;
+        do {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("afterId", afterId)
+                    .addValue("limit", properties.getBatchSize())
+                    .addValue("before", now.minus(properties.getLessonAge()))
+                    .addValue("archivedAt", now);
+            candidates = jdbcTemplate.queryForList(table.selectCandidatesSql(), parameters, Integer.class);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            parameters.addValue("ids", candidates);
+            rows += transactionTemplate.execute(status -> moveBatch(table, parameters));
+            afterId = candidates.get(candidates.size() - 1);
+        } while (candidates.size() == properties.getBatchSize());
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Archived {} rows of {} in {} ms", rows, table.getTable(), took.toMillis());
+        return new ArchivalResult(table.getTable(), rows, took);
+    }
+
+    /**
+     * @param parameters the candidate ids and the values used by the condition of the table
+     * @return number of rows moved, the candidates changed since they were selected are skipped
+     */
+    private int moveBatch(ArchivedTable table, MapSqlParameterSource parameters) {
+        List<Integer> ids = jdbcTemplate.queryForList(table.lockBatchSql(), parameters, Integer.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        parameters.addValue("ids", ids);
+        jdbcTemplate.update(table.copySql(), parameters);
+        if (table == ArchivedTable.LESSON) {
+            jdbcTemplate.update("DELETE FROM lesson_slot WHERE lesson_id IN (:ids)", parameters);
+            AfterCommit.run(() -> ids.forEach(lessonSchedule::remove));
+        }
+        jdbcTemplate.update(table.deleteSql(), parameters);
+        if (table.getResource() != null) {
+            resourceVersions.bump(table.getResource(), ids);
+        }
+        if (table.getCachedEntity() != null) {
+            AfterCommit.run(() -> ids.forEach(id ->
+                    entityManagerFactory.getCache().evict(table.getCachedEntity(), id)));
+        }
+        return ids.size();
+    }
+}
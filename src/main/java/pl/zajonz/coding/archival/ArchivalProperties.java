@@ -0,0 +1,24 @@
+package pl.zajonz.coding.archival;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("coding.archival")
+public class ArchivalProperties {
+
+    /**
+     * Age after which lessons are archived even when not deleted, at least a day, as the schedule keeps the lessons
+     * of the last day
+     */
+    private Duration lessonAge = Duration.ofDays(180);
+
+    /**
+     * Number of rows moved in a single transaction
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,67 @@
+package pl.zajonz.coding.archival;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+/**
+ * Tables archived by {@link ArchivalJob}, in the order they are processed. A row is archived only when no live row
+ * references it anymore, so the rows referencing it have to be processed first.
+ */
+@Getter
+@RequiredArgsConstructor
+enum ArchivedTable {
+
+    LESSON("lesson",
+            "id, student_id, teacher_id, series_id, term, duration, deleted",
+            "deleted = TRUE OR term < :before",
+            Resource.LESSON, null),
+    LESSON_SERIES("lesson_series",
+            "id, student_id, teacher_id, first_term, recurrence, occurrences, end_date, duration, deleted",
+            "deleted = TRUE AND NOT EXISTS (SELECT 1 FROM lesson l WHERE l.series_id = lesson_series.id)",
+            null, null),
+    STUDENT("student",
+            "id, first_name, last_name, language, teacher_id, deleted",
+            "deleted = TRUE AND NOT EXISTS (SELECT 1 FROM lesson l WHERE l.student_id = student.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM lesson_series s WHERE s.student_id = student.id)",
+            Resource.STUDENT, Student.class),
+    TEACHER("teacher",
+            "id, first_name, last_name, languages, deleted",
+            "deleted = TRUE AND NOT EXISTS (SELECT 1 FROM student s WHERE s.teacher_id = teacher.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM lesson l WHERE l.teacher_id = teacher.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM lesson_series r WHERE r.teacher_id = teacher.id)",
+            Resource.TEACHER, Teacher.class);
+
+    private final String table;
+    private final String columns;
+    private final String condition;
+    private final Resource resource;
+    private final Class<?> cachedEntity;
+
+    /**
+     * Candidates are selected by a plain consistent read, which locks nothing however many rows it scans
+     */
+    String selectCandidatesSql() {
+        return "SELECT id FROM " + table + " WHERE id > :afterId AND (" + condition + ")"
+                + " ORDER BY id LIMIT :limit";
+    }
+
+    /**
+     * Locks the candidates by their primary key, re-checking the condition against the latest committed rows
+     */
+    String lockBatchSql() {
+        return "SELECT id FROM " + table + " WHERE id IN (:ids) AND (" + condition + ")"
+                + " ORDER BY id FOR UPDATE";
+    }
+
+    String copySql() {
+        return "INSERT INTO " + table + "_archive (" + columns + ", archived_at)"
+                + " SELECT " + columns + ", :archivedAt FROM " + table + " WHERE id IN (:ids)";
+    }
+
+    String deleteSql() {
+        return "DELETE FROM " + table + " WHERE id IN (:ids)";
+    }
+}
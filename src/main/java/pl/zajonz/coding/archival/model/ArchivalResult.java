@@ -0,0 +1,13 @@
+package pl.zajonz.coding.archival.model;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class ArchivalResult {
+
+    String table;
+    int rows;
+    Duration took;
+}
@@ -0,0 +1,40 @@
+package pl.zajonz.coding.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Publishes the hits, misses, puts and removals of the second-level cache regions as the {@code cache.*} meters
+ * tagged with the region name, read from the JCache statistics enabled in {@code ehcache.xml}. Unlike the Hibernate
+ * statistics they need no counting in the sessions, so they are always on.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheRegionMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            return;
+        }
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), List.of());
+        }
+    }
+}
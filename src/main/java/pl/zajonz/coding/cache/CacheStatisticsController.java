@@ -0,0 +1,39 @@
+package pl.zajonz.coding.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pl.zajonz.coding.cache.model.dto.CacheRegionStatisticsDto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Second-level cache hit ratios per region from the Hibernate statistics, available when they are turned on with
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}. They are off by default, as they also count every
+ * query, flush and connection of each session, while the region hits and misses are always published through
+ * {@link CacheRegionMetrics}.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+@RequestMapping("/api/v1/cache-statistics")
+public class CacheStatisticsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping
+    public List<CacheRegionStatisticsDto> findAll() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> CacheRegionStatisticsDto.fromStatistics(region,
+                        statistics.getDomainDataRegionStatistics(region)))
+                .toList();
+    }
+}
@@ -0,0 +1,26 @@
+package pl.zajonz.coding.cache.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.hibernate.stat.CacheRegionStatistics;
+
+@Getter
+@Builder
+public class CacheRegionStatisticsDto {
+
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long elements;
+
+    public static CacheRegionStatisticsDto fromStatistics(String region, CacheRegionStatistics statistics) {
+        return CacheRegionStatisticsDto.builder()
+                .region(region)
+                .hits(statistics.getHitCount())
+                .misses(statistics.getMissCount())
+                .puts(statistics.getPutCount())
+                .elements(statistics.getElementCountInMemory())
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package pl.zajonz.coding.common;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset pagination cursor, the Base64 encoded sort key of the last element of a page.
+ */
+public final class Cursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String SEPARATOR = "|";
+
+    private Cursor() {
+    }
+
+    public static String encode(Object... keys) {
+        String joined = String.join(SEPARATOR, Arrays.stream(keys).map(String::valueOf).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return sort key of the cursor, exactly {@code keys} elements long
+     * @throws IllegalArgumentException when the cursor has not been created by {@link #encode(Object...)}
+     */
+    public static List<String> decode(String cursor, int keys) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> decoded = List.of(joined.split("\\" + SEPARATOR, -1));
+            if (decoded.size() == keys) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // reported below like any other malformed cursor
+        }
+        throw new IllegalArgumentException("Invalid cursor " + cursor);
+    }
+
+    public static int decodeId(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(decode(cursor, 1).get(0));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor);
+        }
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit has to be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * Method returns the header pointing at the next page, which is empty when the page is not full
+     */
+    public static <T> HttpHeaders nextPageHeaders(List<T> page, int limit, Function<T, String> cursorOf) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == limit) {
+            headers.set(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)));
+        }
+        return headers;
+    }
+}
@@ -1,5 +1,8 @@
 package pl.zajonz.coding.common;
 
+/**
+ * Teacher languages are stored as a bitmask of the ordinals, so new values may only be appended.
+ */
 public enum Language {
 
     JAVA, PYTHON, C, CPP, KOBOL, JS, JS_NODE
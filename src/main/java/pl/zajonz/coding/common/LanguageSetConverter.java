@@ -0,0 +1,42 @@
+package pl.zajonz.coding.common;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Stores a set of {@link Language} as an integer with the bit of every contained language's ordinal set.
+ */
+@Converter
+public class LanguageSetConverter implements AttributeConverter<Set<Language>, Integer> {
+
+    public static int toMask(Language language) {
+        return 1 << language.ordinal();
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Language> languages) {
+        int mask = 0;
+        if (languages != null) {
+            for (Language language : languages) {
+                mask |= toMask(language);
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public Set<Language> convertToEntityAttribute(Integer mask) {
+        Set<Language> languages = EnumSet.noneOf(Language.class);
+        if (mask != null) {
+            for (Language language : Language.values()) {
+                if ((mask & toMask(language)) != 0) {
+                    languages.add(language);
+                }
+            }
+        }
+        return languages;
+    }
+}
@@ -0,0 +1,22 @@
+package pl.zajonz.coding.common;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Records the {@link io.micrometer.core.annotation.Timed} services as {@value #SERVICE_TIMER} timers tagged with the
+ * class, the method and the exception thrown. Repository calls and the connection pool are timed by Spring Boot as
+ * {@code spring.data.repository.invocations} and {@code hikaricp.connections.acquire}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    public static final String SERVICE_TIMER = "coding.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package pl.zajonz.coding.common;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Allocates entity ids in blocks from the {@code id_generator} table, one row per entity table, so inserts no longer
+ * need the generated key back and can be sent in JDBC batches. With the pooled-lo optimizer {@code next_val} is the
+ * first id of the next block, which is how V6 seeds it from the existing rows. The block size is set with the
+ * {@value #ALLOCATION_SIZE} JPA property.
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String STRATEGY = "pl.zajonz.coding.common.PooledIdGenerator";
+    public static final String ALLOCATION_SIZE = "coding.id.allocation_size";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_INCREMENT_SIZE);
+        params.setProperty(TABLE_PARAM, "id_generator");
+        params.setProperty(SEGMENT_COLUMN_PARAM, "name");
+        params.setProperty(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package pl.zajonz.coding.common;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters of the resource collections and of the single entities, used to build strong ETags without
+ * touching the database. All versions come from one sequence, so a tag built from several counters changes whenever
+ * any of them does. The boot epoch is part of every tag, as the counters start from zero after a restart.
+ * <p>
+ * Entity versions are kept in {@value #ENTITY_SLOTS} slots per resource indexed by the id, so the memory stays
+ * constant however many entities are written. Entities sharing a slot share its latest version, which can only
+ * change a tag without a write to the entity, never keep it after one.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        LESSON, TEACHER, STUDENT
+    }
+
+    static final int ENTITY_SLOTS = 4096;
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Resource, AtomicLong> collections = new EnumMap<>(Resource.class);
+    private final Map<Resource, AtomicLongArray> entities = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            collections.put(resource, new AtomicLong());
+            entities.put(resource, new AtomicLongArray(ENTITY_SLOTS));
+        }
+    }
+
+    /**
+     * @return tag changing on every write to any of the collections
+     */
+    public String collectionTag(Resource... resources) {
+        long version = 0;
+        for (Resource resource : resources) {
+            version = Math.max(version, collections.get(resource).get());
+        }
+        return tag(version);
+    }
+
+    /**
+     * @param dependencies collections whose elements are embedded in the entity representation
+     * @return tag changing on every write to the entity or to any of the dependencies
+     */
+    public String entityTag(Resource resource, int id, Resource... dependencies) {
+        long version = entities.get(resource).get(slot(id));
+        for (Resource dependency : dependencies) {
+            version = Math.max(version, collections.get(dependency).get());
+        }
+        return tag(version);
+    }
+
+    public void bump(Resource resource, int id) {
+        bump(resource, List.of(id));
+    }
+
+    /**
+     * Method advances the versions now and once more after the commit, so a response read between the write and
+     * the commit is not served under the final tag
+     */
+    public void bump(Resource resource, Collection<Integer> ids) {
+        advance(resource, ids);
+        AfterCommit.run(() -> advance(resource, ids));
+    }
+
+    private void advance(Resource resource, Collection<Integer> ids) {
+        long version = sequence.incrementAndGet();
+        collections.get(resource).set(version);
+        AtomicLongArray versions = entities.get(resource);
+        ids.forEach(id -> versions.accumulateAndGet(slot(id), version, Math::max));
+    }
+
+    private static int slot(int id) {
+        return Math.floorMod(id, ENTITY_SLOTS);
+    }
+
+    private String tag(long version) {
+        return epoch + "-" + version;
+    }
+}
@@ -0,0 +1,57 @@
+package pl.zajonz.coding.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the traffic between the primary configured in {@code spring.datasource} and the replica configured in
+ * {@code coding.replica.datasource}, enabled with the {@code replica} profile. Services opt in to the replica with
+ * {@code @Transactional(readOnly = true)} on the methods behind the GET endpoints. Repository calls made outside of
+ * a service transaction are read-only as well, so the service methods that write run in read-write transactions,
+ * which keep the reads they make on the primary. Entities read on the replica could put stale teachers and students
+ * into the second-level cache, so the read-only paths use DTO projections, and the lesson export, the only one
+ * loading entities, bypasses the cache. The profile turns off open-in-view, as an entity manager open for
+ * the whole request would reuse its first connection in every transaction. Both pools report the
+ * {@code hikaricp.*} metrics tagged with their pool name.
+ */
+@Configuration
+@Profile("replica")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("coding.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaProperties replicaProperties, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaProperties.getStaleness(), meterRegistry));
+    }
+}
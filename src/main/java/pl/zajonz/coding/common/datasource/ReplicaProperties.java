@@ -0,0 +1,19 @@
+package pl.zajonz.coding.common.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("coding.replica")
+public class ReplicaProperties {
+
+    /**
+     * Time after a committed write during which read-only transactions still go to the primary, as the replica may
+     * not have applied the write yet. Zero sends them to the replica right away.
+     */
+    private Duration staleness = Duration.ofSeconds(1);
+}
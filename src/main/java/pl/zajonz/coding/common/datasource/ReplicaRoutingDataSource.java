@@ -0,0 +1,79 @@
+package pl.zajonz.coding.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica and all the others to the primary. Read-only
+ * transactions started within the staleness window of the last committed write also go to the primary. The routing
+ * is decided when a connection is obtained, so the data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers it until the first
+ * statement, when the transaction is already marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Pool {
+        PRIMARY, REPLICA
+    }
+
+    enum Route {
+        READ_WRITE(Pool.PRIMARY), STALE(Pool.PRIMARY), READ_ONLY(Pool.REPLICA);
+
+        private final Pool pool;
+
+        Route(Pool pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final long stalenessNanos;
+    private final Map<Route, Counter> routes = new EnumMap<>(Route.class);
+    private volatile long lastWrite;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration staleness,
+                                    MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.stalenessNanos = staleness.toNanos();
+        this.lastWrite = System.nanoTime() - stalenessNanos;
+        for (Route route : Route.values()) {
+            routes.put(route, Counter.builder("coding.datasource.routes")
+                    .tag("pool", route.pool.name().toLowerCase())
+                    .tag("route", route.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Pool determineCurrentLookupKey() {
+        Route route = route();
+        routes.get(route).increment();
+        return route.pool;
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            lastWrite = System.nanoTime();
+                        }
+                    }
+                });
+            }
+            return Route.READ_WRITE;
+        }
+        return System.nanoTime() - lastWrite < stalenessNanos ? Route.STALE : Route.READ_ONLY;
+    }
+}
@@ -1,6 +1,8 @@
 package pl.zajonz.coding.common.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,23 +11,29 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(value = {EntityNotFoundException.class, EmptyResultDataAccessException.class})
     @ResponseStatus(value = HttpStatus.NOT_FOUND)
     public ErrorMessage handleEntityNotFoundException(EntityNotFoundException ex) {
+        count(ex);
         return new ErrorMessage(ex.getMessage());
     }
 
     @ExceptionHandler(InvalidDateException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public ErrorMessage handleInvalidDateException(InvalidDateException ex) {
+        count(ex);
         return new ErrorMessage(ex.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public ErrorMessage handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+        count(ex);
         ValidationErrorMessage error = new ValidationErrorMessage();
         ex.getFieldErrors().forEach(fe -> error.addViolation(fe.getField(), fe.getDefaultMessage()));
         return error;
@@ -34,6 +42,14 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public ErrorMessage handleIllegalArgumentException(IllegalArgumentException ex){
+        count(ex);
         return new ErrorMessage(ex.getMessage());
     }
+
+    /**
+     * Method counts the handled exceptions by type, so the rates of rejected requests can be watched
+     */
+    private void count(Exception ex) {
+        meterRegistry.counter("coding.errors", "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
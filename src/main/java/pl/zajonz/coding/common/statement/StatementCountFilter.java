@@ -0,0 +1,48 @@
+package pl.zajonz.coding.common.statement;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts SQL statements executed while handling a request and logs requests exceeding the configured budget.
+ * Work handed over to other threads, like the streamed lesson export, is not counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(StatementCountProperties.class)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Statement-Count";
+
+    private final StatementCounter statementCounter;
+    private final StatementCountProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = statementCounter.stop();
+            if (count > properties.getBudget()) {
+                log.warn("{} {} executed {} SQL statements, the budget is {}",
+                        request.getMethod(), request.getRequestURI(), count, properties.getBudget());
+            }
+            // responses with a body get the header from StatementCountHeaderAdvice before they are committed
+            if (properties.isHeader() && !response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(count));
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package pl.zajonz.coding.common.statement;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@value StatementCountFilter#HEADER} header just before the body is written, as the response is usually
+ * committed by the time {@link StatementCountFilter} gets the final count.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class StatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final StatementCounter statementCounter;
+    private final StatementCountProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(StatementCountFilter.HEADER, String.valueOf(statementCounter.current()));
+        return body;
+    }
+}
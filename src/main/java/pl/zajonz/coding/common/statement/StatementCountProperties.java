@@ -0,0 +1,21 @@
+package pl.zajonz.coding.common.statement;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties("coding.statement-count")
+public class StatementCountProperties {
+
+    /**
+     * Number of SQL statements a single request may execute before it is logged as a likely N+1
+     */
+    private int budget = 10;
+
+    /**
+     * Whether responses carry the {@value StatementCountFilter#HEADER} header, disabled in the prod profile
+     */
+    private boolean header = true;
+}
@@ -0,0 +1,56 @@
+package pl.zajonz.coding.common.statement;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts SQL statements prepared by Hibernate on the current thread between {@link #start()} and {@link #stop()}.
+ * Statements of a JDBC batch are prepared once, so a batched insert counts as a single statement, and second-level
+ * cache hits are not counted at all.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * Method returns the number of statements counted so far, 0 when counting was not started on this thread
+     */
+    public int current() {
+        int[] current = count.get();
+        return current == null ? 0 : current[0];
+    }
+
+    /**
+     * Method stops counting on the current thread
+     *
+     * @return number of statements counted since {@link #start()}
+     */
+    public int stop() {
+        int counted = current();
+        count.remove();
+        return counted;
+    }
+}
@@ -0,0 +1,67 @@
+package pl.zajonz.coding.lesson;
+
+import pl.zajonz.coding.lesson.model.LessonSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Busy teachers of every {@value LessonSlot#SLOT_MINUTES}-minute slot of a week, one bitset of teacher ids per slot.
+ * Bitsets are copied on write, so readers never see one being modified.
+ */
+class BusySlots {
+
+    static final int SLOTS_PER_DAY = 24 * 60 / LessonSlot.SLOT_MINUTES;
+    static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final Map<LocalDate, AtomicReferenceArray<BitSet>> weeks = new ConcurrentHashMap<>();
+
+    /**
+     * @return busy teachers of the slot, the returned bitset must not be modified
+     */
+    BitSet find(LocalDateTime slot) {
+        AtomicReferenceArray<BitSet> week = weeks.get(weekOf(slot));
+        BitSet busy = week == null ? null : week.get(indexOf(slot));
+        return busy == null ? EMPTY : busy;
+    }
+
+    void set(int teacherId, LocalDateTime slot, boolean busy) {
+        AtomicReferenceArray<BitSet> week = weeks.computeIfAbsent(weekOf(slot),
+                start -> new AtomicReferenceArray<>(SLOTS_PER_WEEK));
+        BitSet current = week.get(indexOf(slot));
+        if (current == null ? !busy : current.get(teacherId) == busy) {
+            return;
+        }
+        BitSet updated = current == null ? new BitSet() : (BitSet) current.clone();
+        updated.set(teacherId, busy);
+        week.set(indexOf(slot), updated);
+    }
+
+    /**
+     * Method drops the weeks ending before the given day
+     */
+    void removeBefore(LocalDate day) {
+        weeks.keySet().removeIf(start -> !start.plusWeeks(1).isAfter(day));
+    }
+
+    int size() {
+        return weeks.size();
+    }
+
+    private static LocalDate weekOf(LocalDateTime slot) {
+        return slot.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static int indexOf(LocalDateTime slot) {
+        return (slot.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY
+                + (slot.getHour() * 60 + slot.getMinute()) / LessonSlot.SLOT_MINUTES;
+    }
+}
@@ -0,0 +1,35 @@
+package pl.zajonz.coding.lesson;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import pl.zajonz.coding.lesson.LessonMetrics.DateCheck;
+
+import java.time.LocalDateTime;
+
+/**
+ * Term availability check of the bookings and term changes, shared by the servlet and the reactive lesson services
+ * so they apply the same rule and count the outcomes in the same {@link LessonMetrics}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonAvailability {
+
+    private final LessonSchedule lessonSchedule;
+
+    private final LessonMetrics lessonMetrics;
+
+    /**
+     * Method checks if the term is not in the past and the teacher has no other lesson overlapping it
+     *
+     * @param ignoredLessonId lesson being moved, which does not conflict with itself, 0 for a new lesson
+     */
+    public boolean isAvailable(LocalDateTime date, int duration, int teacherId, int ignoredLessonId) {
+        if (date.isBefore(LocalDateTime.now())) {
+            lessonMetrics.dateChecked(DateCheck.PAST);
+            return false;
+        }
+        boolean conflict = lessonSchedule.hasConflict(teacherId, date, date.plusMinutes(duration), ignoredLessonId);
+        lessonMetrics.dateChecked(conflict ? DateCheck.CONFLICT : DateCheck.FREE);
+        return !conflict;
+    }
+}
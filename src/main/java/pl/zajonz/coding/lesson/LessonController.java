@@ -1,14 +1,32 @@
 package pl.zajonz.coding.lesson;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pl.zajonz.coding.common.Cursor;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
 import pl.zajonz.coding.lesson.model.Lesson;
 import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.CreateLessonSeriesCommand;
+import pl.zajonz.coding.lesson.model.command.ShiftLessonSeriesCommand;
 import pl.zajonz.coding.lesson.model.command.UpdateLessonTermCommand;
+import pl.zajonz.coding.lesson.model.dto.LessonBatchResultDto;
 import pl.zajonz.coding.lesson.model.dto.LessonDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -18,16 +36,63 @@ public class LessonController {
 
     private final LessonService lessonService;
 
+    private final ObjectMapper objectMapper;
+
+    private final ResourceVersions resourceVersions;
+
     @GetMapping
-    public List<LessonDto> findAll() {
-        return lessonService.findAllByDeletedFalse().stream()
-                .map(LessonDto::fromEntity)
-                .toList();
+    public ResponseEntity<List<LessonDto>> findAll(@RequestParam(required = false) String after,
+                                                   @RequestParam(defaultValue = "" + Cursor.DEFAULT_LIMIT) int limit,
+                                                   WebRequest request) {
+        LocalDateTime afterTerm = null;
+        int afterId = 0;
+        if (after != null) {
+            List<String> key = Cursor.decode(after, 2);
+            try {
+                afterTerm = LocalDateTime.parse(key.get(0));
+                afterId = Integer.parseInt(key.get(1));
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid cursor " + after);
+            }
+        }
+        if (request.checkNotModified(resourceVersions.collectionTag(Resource.LESSON, Resource.TEACHER, Resource.STUDENT))) {
+            return null;
+        }
+        List<LessonDto> lessons = lessonService.findAllByDeletedFalse(afterTerm, afterId, limit);
+        return ResponseEntity.ok()
+                .headers(Cursor.nextPageHeaders(lessons, limit, lesson -> Cursor.encode(lesson.getTerm(), lesson.getId())))
+                .body(lessons);
+    }
+
+    /**
+     * Method streams the not deleted lessons as NDJSON through a single generator, flushed when its buffer fills up
+     * and once at the end instead of after every row
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody export() {
+        ObjectWriter writer = objectMapper.writerFor(LessonDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.createGenerator(outputStream);
+            generator.setRootValueSeparator(null);
+            lessonService.exportAllByDeletedFalse(lesson -> {
+                try {
+                    writer.writeValue(generator, LessonDto.fromEntity(lesson));
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.flush();
+        };
     }
 
     @GetMapping("/{id}")
-    public LessonDto findById(@PathVariable int id) {
-        return LessonDto.fromEntity(lessonService.findById(id));
+    public LessonDto findById(@PathVariable int id, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.entityTag(Resource.LESSON, id, Resource.TEACHER, Resource.STUDENT))) {
+            return null;
+        }
+        return lessonService.findDtoById(id);
     }
 
     @PostMapping
@@ -35,6 +100,33 @@ public class LessonController {
     public LessonDto create(@RequestBody @Valid CreateLessonCommand command) {
         return LessonDto.fromEntity(lessonService.save(command));
     }
+
+    @PostMapping("/batch")
+    public List<LessonBatchResultDto> createBatch(@RequestBody List<CreateLessonCommand> commands) {
+        return lessonService.saveAll(commands);
+    }
+
+    @PostMapping("/series")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<LessonDto> createSeries(@RequestBody @Valid CreateLessonSeriesCommand command) {
+        return lessonService.saveSeries(command).stream()
+                .map(LessonDto::fromEntity)
+                .toList();
+    }
+
+    @PatchMapping("/series/{id}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public List<LessonDto> shiftSeries(@PathVariable int id, @RequestBody @Valid ShiftLessonSeriesCommand command) {
+        return lessonService.shiftSeries(id, command.getMinutes()).stream()
+                .map(LessonDto::fromEntity)
+                .toList();
+    }
+
+    @DeleteMapping("/series/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteSeries(@PathVariable int id) {
+        lessonService.deleteSeries(id);
+    }
     // TODO: 02.03.2023 dokończyć funkcjonalności - zamiana na rest
 
 
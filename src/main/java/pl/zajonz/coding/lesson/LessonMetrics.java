@@ -0,0 +1,33 @@
+package pl.zajonz.coding.lesson;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters of the outcomes of the term availability checks, done for every booking and term change.
+ */
+@Component
+public class LessonMetrics {
+
+    public enum DateCheck {
+        FREE, CONFLICT, PAST
+    }
+
+    private final Map<DateCheck, Counter> dateChecks = new EnumMap<>(DateCheck.class);
+
+    public LessonMetrics(MeterRegistry meterRegistry) {
+        for (DateCheck outcome : DateCheck.values()) {
+            dateChecks.put(outcome, Counter.builder("coding.lesson.date-checks")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void dateChecked(DateCheck outcome) {
+        dateChecks.get(outcome).increment();
+    }
+}
@@ -1,14 +1,66 @@
 package pl.zajonz.coding.lesson;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonTerm;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LessonRepository extends JpaRepository<Lesson,Integer> {
 
+    String LESSON_DTO = "select new pl.zajonz.coding.lesson.model.dto.LessonDto(l.id, l.term, l.duration, r.id, " +
+            "t.id, t.firstName, t.lastName, t.languages, s.id, s.firstName, s.lastName, s.language) " +
+            "from Lesson l join l.teacher t join l.student s left join l.series r ";
+
+    @EntityGraph(attributePaths = {"teacher", "student", "student.teacher"})
+    Optional<Lesson> findById(Integer id);
+
+    @EntityGraph(attributePaths = {"teacher", "student", "student.teacher"})
     List<Lesson> findAllByDeletedFalse();
-    boolean existsByTeacherIdAndTermBetween(int teacherId, LocalDateTime from, LocalDateTime to);
+
+    @Query(LESSON_DTO + "where l.deleted = false order by l.term, l.id")
+    List<LessonDto> findAllDtosByDeletedFalse(Pageable pageable);
+
+    @Query(LESSON_DTO + "where l.deleted = false " +
+            "and (l.term > :term or (l.term = :term and l.id > :id)) order by l.term, l.id")
+    List<LessonDto> findAllDtosByDeletedFalseAfter(@Param("term") LocalDateTime term, @Param("id") int id,
+                                                   Pageable pageable);
+
+    @Query(LESSON_DTO + "where l.id = :id")
+    Optional<LessonDto> findDtoById(@Param("id") int id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")})
+    @EntityGraph(attributePaths = {"teacher", "student", "student.teacher"})
+    @Query("select l from Lesson l where l.deleted = false")
+    Stream<Lesson> streamAllByDeletedFalse();
+
+    @Query("select new pl.zajonz.coding.lesson.model.LessonTerm(l.id, l.teacher.id, l.term, l.duration) " +
+            "from Lesson l where l.deleted = false and l.term >= :from")
+    List<LessonTerm> findAllTermsByDeletedFalseAndTermAfter(@Param("from") LocalDateTime from);
+
+    List<Lesson> findAllBySeriesIdAndDeletedFalseAndTermAfterOrderByTerm(int seriesId, LocalDateTime term);
+
+    @Query("select l.id from Lesson l where l.series.id = :seriesId and l.deleted = false and l.term > :from")
+    List<Integer> findAllIdsBySeriesIdAndDeletedFalseAndTermAfter(@Param("seriesId") int seriesId,
+                                                                   @Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query("update Lesson l set l.deleted = true where l.id in :ids")
+    int softDeleteAllByIdIn(@Param("ids") Collection<Integer> ids);
 
 }
@@ -0,0 +1,162 @@
+package pl.zajonz.coding.lesson;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of the terms occupied by not deleted lessons, kept as a sorted set per teacher and as bitsets
+ * of busy teachers per slot. It is loaded once at startup and has to be updated by every write that creates,
+ * moves or deletes a lesson. Past terms are pruned daily.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonSchedule {
+
+    private static final Comparator<LessonTerm> BY_START = Comparator
+            .comparing(LessonTerm::getStart)
+            .thenComparingInt(LessonTerm::getLessonId);
+
+    private final LessonRepository lessonRepository;
+
+    private final Map<Integer, NavigableSet<LessonTerm>> termsByTeacher = new ConcurrentHashMap<>();
+    private final Map<Integer, LessonTerm> termsByLesson = new ConcurrentHashMap<>();
+    private final BusySlots busySlots = new BusySlots();
+    private volatile int longestDuration = Lesson.DEFAULT_DURATION;
+
+    @PostConstruct
+    public void load() {
+        lessonRepository.findAllTermsByDeletedFalseAndTermAfter(LocalDateTime.now().minusDays(1))
+                .forEach(this::put);
+    }
+
+    @Scheduled(cron = "${coding.lesson-schedule.prune-cron:0 0 4 * * *}")
+    public void prune() {
+        prune(LocalDateTime.now().minusDays(1));
+    }
+
+    /**
+     * Method forgets the terms ended before the given time together with the weeks of busy slots ended by then,
+     * as past terms can no longer be booked
+     */
+    public synchronized void prune(LocalDateTime before) {
+        termsByLesson.values().stream()
+                .filter(term -> !term.getEnd().isAfter(before))
+                .map(LessonTerm::getLessonId)
+                .toList()
+                .forEach(this::remove);
+        busySlots.removeBefore(before.toLocalDate());
+    }
+
+    /**
+     * Method checks if any lesson of the teacher, other than the ignored one, overlaps the given interval
+     *
+     * @return true when the interval collides with an already scheduled lesson
+     */
+    public boolean hasConflict(int teacherId, LocalDateTime from, LocalDateTime to, int ignoredLessonId) {
+        return findBetween(teacherId, from, to).stream()
+                .anyMatch(term -> term.getLessonId() != ignoredLessonId);
+    }
+
+    /**
+     * Method returns lessons of the teacher overlapping the given interval, sorted by their start
+     */
+    public List<LessonTerm> findBetween(int teacherId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<LessonTerm> terms = termsByTeacher.get(teacherId);
+        if (terms == null || !from.isBefore(to)) {
+            return List.of();
+        }
+        return terms.subSet(probe(from.minusMinutes(longestDuration)), true, probe(to), false).stream()
+                .filter(term -> term.overlaps(from, to))
+                .toList();
+    }
+
+    /**
+     * Method finds the candidate terms colliding with lessons of the teacher in a single sweep over both sorted lists
+     *
+     * @param candidates terms sorted by their start
+     * @return candidates overlapping a scheduled lesson that is not ignored
+     */
+    public List<LessonTerm> findConflicts(int teacherId, List<LessonTerm> candidates, Set<Integer> ignoredLessonIds) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime to = candidates.stream()
+                .map(LessonTerm::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        List<LessonTerm> scheduled = findBetween(teacherId, candidates.get(0).getStart(), to).stream()
+                .filter(term -> !ignoredLessonIds.contains(term.getLessonId()))
+                .toList();
+        List<LessonTerm> conflicts = new ArrayList<>();
+        int next = 0;
+        for (LessonTerm candidate : candidates) {
+            while (next < scheduled.size() && !scheduled.get(next).getEnd().isAfter(candidate.getStart())) {
+                next++;
+            }
+            if (next < scheduled.size() && scheduled.get(next).getStart().isBefore(candidate.getEnd())) {
+                conflicts.add(candidate);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Method returns ids of the teachers having a lesson in any slot touched by the given interval, so it may
+     * also report a teacher whose lesson only shares a slot with an interval not aligned to slots
+     */
+    public BitSet findBusyTeachers(LocalDateTime from, LocalDateTime to) {
+        BitSet busy = new BitSet();
+        for (LocalDateTime slot = LessonSlot.slotOf(from); slot.isBefore(to);
+             slot = slot.plusMinutes(LessonSlot.SLOT_MINUTES)) {
+            busy.or(busySlots.find(slot));
+        }
+        return busy;
+    }
+
+    public synchronized void put(LessonTerm term) {
+        remove(term.getLessonId());
+        termsByTeacher.computeIfAbsent(term.getTeacherId(), id -> new ConcurrentSkipListSet<>(BY_START))
+                .add(term);
+        termsByLesson.put(term.getLessonId(), term);
+        longestDuration = Math.max(longestDuration,
+                (int) Duration.between(term.getStart(), term.getEnd()).toMinutes());
+        refreshBusySlots(term);
+    }
+
+    public synchronized void remove(int lessonId) {
+        LessonTerm term = termsByLesson.remove(lessonId);
+        if (term != null) {
+            termsByTeacher.get(term.getTeacherId()).remove(term);
+            refreshBusySlots(term);
+        }
+    }
+
+    private void refreshBusySlots(LessonTerm term) {
+        for (LocalDateTime slot = LessonSlot.slotOf(term.getStart()); slot.isBefore(term.getEnd());
+             slot = slot.plusMinutes(LessonSlot.SLOT_MINUTES)) {
+            LocalDateTime slotEnd = slot.plusMinutes(LessonSlot.SLOT_MINUTES);
+            busySlots.set(term.getTeacherId(), slot, !findBetween(term.getTeacherId(), slot, slotEnd).isEmpty());
+        }
+    }
+
+    private static LessonTerm probe(LocalDateTime start) {
+        return new LessonTerm(Integer.MIN_VALUE, 0, start, 0);
+    }
+}
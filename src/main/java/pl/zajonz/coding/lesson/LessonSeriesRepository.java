@@ -0,0 +1,7 @@
+package pl.zajonz.coding.lesson;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import pl.zajonz.coding.lesson.model.LessonSeries;
+
+public interface LessonSeriesRepository extends JpaRepository<LessonSeries, Integer> {
+}
@@ -2,17 +2,63 @@ package pl.zajonz.coding.lesson;
 
 import pl.zajonz.coding.lesson.model.Lesson;
 import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.CreateLessonSeriesCommand;
+import pl.zajonz.coding.lesson.model.dto.LessonBatchResultDto;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.teacher.model.Teacher;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface LessonService {
     List<Lesson> findAllByDeletedFalse();
 
+    /**
+     * Method returns a page of active lessons ordered by term and id, starting after the given term and id
+     *
+     * @param afterTerm term of the last lesson of the previous page, null for the first page
+     * @return at most {@code limit} lessons
+     */
+    List<LessonDto> findAllByDeletedFalse(LocalDateTime afterTerm, int afterId, int limit);
+
+    /**
+     * Method passes every active lesson to the consumer while reading them from an open cursor, each lesson is
+     * detached right after being consumed, so the memory use does not depend on the number of lessons
+     */
+    void exportAllByDeletedFalse(Consumer<Lesson> consumer);
+
     Lesson save(CreateLessonCommand command);
 
+    /**
+     * Method saves all lessons of the batch that pass the checks of {@link #save(CreateLessonCommand)} in one
+     * transaction, the rejected ones are reported with their error instead of failing the whole batch
+     *
+     * @return result for every command, in the order of the commands
+     */
+    List<LessonBatchResultDto> saveAll(List<CreateLessonCommand> commands);
+
+    /**
+     * Method expands the recurrence of the series and saves all its lessons at once, a single occupied term
+     * rejects the whole series
+     *
+     * @return saved lessons ordered by term
+     */
+    List<Lesson> saveSeries(CreateLessonSeriesCommand command);
+
+    /**
+     * Method moves all not started lessons of the series by the given number of minutes
+     *
+     * @return moved lessons ordered by term
+     */
+    List<Lesson> shiftSeries(int seriesId, int minutes);
+
+    /**
+     * Method deletes the series together with all its not started lessons
+     */
+    void deleteSeries(int seriesId);
+
     Teacher findTeacherId(int id);
 
     Student findStudentId(int id);
@@ -23,5 +69,10 @@ public interface LessonService {
 
     Lesson findById(int id);
 
-    boolean checkDate(LocalDateTime date, int teacherId);
+    /**
+     * Method reads the lesson with its teacher and student directly into a {@link LessonDto}, without loading entities
+     */
+    LessonDto findDtoById(int id);
+
+    boolean checkDate(LocalDateTime date, int duration, int teacherId);
 }
@@ -1,11 +1,29 @@
 package pl.zajonz.coding.lesson;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.zajonz.coding.common.AfterCommit;
+import pl.zajonz.coding.common.Cursor;
+import pl.zajonz.coding.common.MetricsConfiguration;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
 import pl.zajonz.coding.common.exception.InvalidDateException;
 import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSeries;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
 import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.CreateLessonSeriesCommand;
+import pl.zajonz.coding.lesson.model.dto.LessonBatchResultDto;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
 import pl.zajonz.coding.student.StudentRepository;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.teacher.TeacherRepository;
@@ -13,33 +31,195 @@ import pl.zajonz.coding.teacher.model.Teacher;
 
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class LessonServiceImpl implements LessonService {
 
+    static final int MAX_BATCH_SIZE = 10_000;
+
     private final LessonRepository lessonRepository;
 
     private final TeacherRepository teacherRepository;
 
     private final StudentRepository studentRepository;
 
+    private final LessonSlotRepository lessonSlotRepository;
+
+    private final LessonSeriesRepository lessonSeriesRepository;
+
+    private final LessonSchedule lessonSchedule;
+
+    private final LessonAvailability lessonAvailability;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final ResourceVersions resourceVersions;
+
     @Override
     public List<Lesson> findAllByDeletedFalse() {
         return lessonRepository.findAllByDeletedFalse();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<LessonDto> findAllByDeletedFalse(LocalDateTime afterTerm, int afterId, int limit) {
+        Cursor.checkLimit(limit);
+        if (afterTerm == null) {
+            return lessonRepository.findAllDtosByDeletedFalse(PageRequest.of(0, limit));
+        }
+        return lessonRepository.findAllDtosByDeletedFalseAfter(afterTerm, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllByDeletedFalse(Consumer<Lesson> consumer) {
+        try (Stream<Lesson> lessons = lessonRepository.streamAllByDeletedFalse()) {
+            lessons.forEach(lesson -> {
+                consumer.accept(lesson);
+                entityManager.detach(lesson);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
     public Lesson save(CreateLessonCommand command) {
         Lesson toSave = command.toEntity();
-        if (!checkDate(toSave.getTerm(), command.getTeacherId())) {
+        if (!checkDate(toSave.getTerm(), toSave.getDuration(), command.getTeacherId())) {
             throw new InvalidDateException("Invalid date " + toSave.getTerm());
         }
         toSave.setTeacher(findTeacherId(command.getTeacherId()));
         toSave.setStudent(findStudentId(command.getStudentId()));
-        return lessonRepository.save(toSave);
+        Lesson saved = lessonRepository.save(toSave);
+        reserveSlots(List.of(saved), "Invalid date " + saved.getTerm());
+        resourceVersions.bump(Resource.LESSON, saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<LessonBatchResultDto> saveAll(List<CreateLessonCommand> commands) {
+        if (commands.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " lessons");
+        }
+        Map<Integer, Teacher> teachers = teacherRepository.findAllById(collectIds(commands, CreateLessonCommand::getTeacherId))
+                .stream()
+                .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+        Map<Integer, Student> students = studentRepository.findAllById(collectIds(commands, CreateLessonCommand::getStudentId))
+                .stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Integer, NavigableMap<LocalDateTime, LocalDateTime>> accepted = new HashMap<>();
+
+        LessonBatchResultDto[] results = new LessonBatchResultDto[commands.size()];
+        List<Lesson> toSave = new ArrayList<>();
+        List<Integer> toSaveIndexes = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            CreateLessonCommand command = commands.get(i);
+            String error = validateBatchItem(command, teachers, students, accepted);
+            if (error != null) {
+                results[i] = LessonBatchResultDto.rejected(i, error);
+                continue;
+            }
+            Lesson lesson = command.toEntity();
+            lesson.setTeacher(teachers.get(command.getTeacherId()));
+            lesson.setStudent(students.get(command.getStudentId()));
+            accepted.computeIfAbsent(command.getTeacherId(), id -> new TreeMap<>())
+                    .put(lesson.getTerm(), lesson.getTerm().plusMinutes(lesson.getDuration()));
+            toSave.add(lesson);
+            toSaveIndexes.add(i);
+        }
+
+        List<Lesson> saved = lessonRepository.saveAll(toSave);
+        reserveSlots(saved, "Some of the terms have been booked concurrently, the batch has not been saved");
+        resourceVersions.bump(Resource.LESSON, saved.stream().map(Lesson::getId).toList());
+        for (int i = 0; i < saved.size(); i++) {
+            results[toSaveIndexes.get(i)] = LessonBatchResultDto.created(toSaveIndexes.get(i), saved.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<Lesson> saveSeries(CreateLessonSeriesCommand command) {
+        LessonSeries series = command.toEntity();
+        List<LessonTerm> occurrences = expandOccurrences(series, command.getTeacherId());
+        if (occurrences.get(0).getStart().isBefore(LocalDateTime.now())) {
+            throw new InvalidDateException("Invalid date " + series.getFirstTerm());
+        }
+        List<LessonTerm> conflicts = lessonSchedule.findConflicts(command.getTeacherId(), occurrences, Set.of());
+        if (!conflicts.isEmpty()) {
+            throw new InvalidDateException("Invalid date " + conflicts.get(0).getStart());
+        }
+        series.setTeacher(findTeacherId(command.getTeacherId()));
+        series.setStudent(findStudentId(command.getStudentId()));
+        LessonSeries savedSeries = lessonSeriesRepository.save(series);
+
+        List<Lesson> saved = lessonRepository.saveAll(occurrences.stream()
+                .map(occurrence -> Lesson.builder()
+                        .teacher(savedSeries.getTeacher())
+                        .student(savedSeries.getStudent())
+                        .series(savedSeries)
+                        .term(occurrence.getStart())
+                        .duration(savedSeries.getDuration())
+                        .build())
+                .toList());
+        reserveSlots(saved, "Some of the terms have been booked concurrently, the series has not been saved");
+        resourceVersions.bump(Resource.LESSON, saved.stream().map(Lesson::getId).toList());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Lesson> shiftSeries(int seriesId, int minutes) {
+        LessonSeries series = findSeriesById(seriesId);
+        List<Lesson> lessons = lessonRepository.findAllBySeriesIdAndDeletedFalseAndTermAfterOrderByTerm(
+                seriesId, LocalDateTime.now());
+        if (lessons.isEmpty()) {
+            return lessons;
+        }
+        List<LessonTerm> shifted = lessons.stream()
+                .map(lesson -> new LessonTerm(lesson.getId(), series.getTeacher().getId(),
+                        lesson.getTerm().plusMinutes(minutes), lesson.getDuration()))
+                .toList();
+        if (shifted.get(0).getStart().isBefore(LocalDateTime.now())) {
+            throw new InvalidDateException("Invalid date " + shifted.get(0).getStart());
+        }
+        Set<Integer> lessonIds = lessons.stream()
+                .map(Lesson::getId)
+                .collect(Collectors.toSet());
+        List<LessonTerm> conflicts = lessonSchedule.findConflicts(series.getTeacher().getId(), shifted, lessonIds);
+        if (!conflicts.isEmpty()) {
+            throw new InvalidDateException("Invalid date " + conflicts.get(0).getStart());
+        }
+        lessons.forEach(lesson -> lesson.setTerm(lesson.getTerm().plusMinutes(minutes)));
+        lessonSlotRepository.deleteAllByLessonIdIn(lessonIds);
+        reserveSlots(lessons, "Some of the terms have been booked concurrently, the series has not been shifted");
+        resourceVersions.bump(Resource.LESSON, lessonIds);
+        return lessons;
+    }
+
+    @Override
+    @Transactional
+    public void deleteSeries(int seriesId) {
+        findSeriesById(seriesId);
+        List<Integer> lessonIds = lessonRepository.findAllIdsBySeriesIdAndDeletedFalseAndTermAfter(
+                seriesId, LocalDateTime.now());
+        if (!lessonIds.isEmpty()) {
+            lessonRepository.softDeleteAllByIdIn(lessonIds);
+            lessonSlotRepository.deleteAllByLessonIdIn(lessonIds);
+        }
+        lessonSeriesRepository.deleteById(seriesId);
+        resourceVersions.bump(Resource.LESSON, lessonIds);
+        AfterCommit.run(() -> lessonIds.forEach(lessonSchedule::remove));
     }
 
     @Override
@@ -57,6 +237,7 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
+    @Transactional
     public void deleteById(int id) {
         LocalDateTime date = lessonRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(MessageFormat
@@ -66,18 +247,27 @@ public class LessonServiceImpl implements LessonService {
             throw new InvalidDateException("The term is in the past");
         }
         lessonRepository.deleteById(id);
+        lessonSlotRepository.deleteAllByLessonId(id);
+        resourceVersions.bump(Resource.LESSON, id);
+        AfterCommit.run(() -> lessonSchedule.remove(id));
     }
 
     @Override
+    @Transactional
     public Lesson updateTerm(int lessonId, Lesson lesson) {
         Lesson editLesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new EntityNotFoundException(MessageFormat
                         .format("Lesson with id={0} has not been found", lessonId)));
-        if (!checkDate(lesson.getTerm(), editLesson.getTeacher().getId())) {
+        if (!lessonAvailability.isAvailable(lesson.getTerm(), editLesson.getDuration(),
+                editLesson.getTeacher().getId(), lessonId)) {
             throw new InvalidDateException("Invalid date " + lesson.getTerm());
         }
         editLesson.setTerm(lesson.getTerm());
-        return lessonRepository.save(editLesson);
+        Lesson saved = lessonRepository.save(editLesson);
+        lessonSlotRepository.deleteAllByLessonId(lessonId);
+        reserveSlots(List.of(saved), "Invalid date " + saved.getTerm());
+        resourceVersions.bump(Resource.LESSON, lessonId);
+        return saved;
     }
 
     @Override
@@ -87,9 +277,103 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
-    public boolean checkDate(LocalDateTime date, int teacherId) {
-        return !date.isBefore(LocalDateTime.now()) &&
-                !lessonRepository.existsByTeacherIdAndTermBetween(
-                        teacherId, date.minusMinutes(59), date.plusMinutes(59));
+    @Transactional(readOnly = true)
+    public LessonDto findDtoById(int id) {
+        return lessonRepository.findDtoById(id)
+                .orElseThrow(() -> new NoSuchElementException("No such lesson with Id" + id));
+    }
+
+    @Override
+    public boolean checkDate(LocalDateTime date, int duration, int teacherId) {
+        return lessonAvailability.isAvailable(date, duration, teacherId, 0);
+    }
+
+    /**
+     * Method inserts the slot reservations of the lessons, the unique key of lesson_slot rejects the ones already
+     * taken by a concurrent booking, which the in-memory {@link LessonSchedule} check cannot see
+     */
+    private void reserveSlots(List<Lesson> lessons, String conflictMessage) {
+        try {
+            lessonSlotRepository.saveAllAndFlush(lessons.stream()
+                    .flatMap(lesson -> LessonSlot.fromEntity(lesson).stream())
+                    .toList());
+        } catch (DataIntegrityViolationException ex) {
+            throw new InvalidDateException(conflictMessage);
+        }
+        List<LessonTerm> terms = lessons.stream()
+                .map(LessonTerm::fromEntity)
+                .toList();
+        AfterCommit.run(() -> terms.forEach(lessonSchedule::put));
+    }
+
+    /**
+     * Method applies the checks of {@link #save(CreateLessonCommand)} to a single batch item, including conflicts
+     * with the items accepted earlier in the same batch
+     *
+     * @return error message or null when the item can be saved
+     */
+    private String validateBatchItem(CreateLessonCommand command, Map<Integer, Teacher> teachers,
+                                     Map<Integer, Student> students,
+                                     Map<Integer, NavigableMap<LocalDateTime, LocalDateTime>> accepted) {
+        if (command == null) {
+            return "lesson cannot be null";
+        }
+        Set<ConstraintViolation<CreateLessonCommand>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        LocalDateTime from = command.getTerm();
+        int duration = command.toEntity().getDuration();
+        Map.Entry<LocalDateTime, LocalDateTime> previous = accepted
+                .getOrDefault(command.getTeacherId(), Collections.emptyNavigableMap())
+                .lowerEntry(from.plusMinutes(duration));
+        if (!checkDate(from, duration, command.getTeacherId())
+                || previous != null && previous.getValue().isAfter(from)) {
+            return "Invalid date " + from;
+        }
+        if (!teachers.containsKey(command.getTeacherId())) {
+            return MessageFormat.format("Teacher with id={0} has not been found", command.getTeacherId());
+        }
+        if (!students.containsKey(command.getStudentId())) {
+            return MessageFormat.format("Student with id={0} has not been found", command.getStudentId());
+        }
+        return null;
+    }
+
+    private LessonSeries findSeriesById(int id) {
+        return lessonSeriesRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(MessageFormat
+                        .format("Lesson series with id={0} has not been found", id)));
+    }
+
+    private static List<LessonTerm> expandOccurrences(LessonSeries series, int teacherId) {
+        List<LessonTerm> occurrences = new ArrayList<>();
+        for (int i = 0; series.getOccurrences() == null || i < series.getOccurrences(); i++) {
+            LocalDateTime term = series.getRecurrence().occurrence(series.getFirstTerm(), i);
+            if (series.getEndDate() != null && term.toLocalDate().isAfter(series.getEndDate())) {
+                break;
+            }
+            if (i == CreateLessonSeriesCommand.MAX_OCCURRENCES) {
+                throw new IllegalArgumentException("Series cannot have more than "
+                        + CreateLessonSeriesCommand.MAX_OCCURRENCES + " occurrences");
+            }
+            occurrences.add(new LessonTerm(0, teacherId, term, series.getDuration()));
+        }
+        if (occurrences.isEmpty()) {
+            throw new IllegalArgumentException("End date cannot be before the first term");
+        }
+        return occurrences;
+    }
+
+    private static Set<Integer> collectIds(List<CreateLessonCommand> commands,
+                                           Function<CreateLessonCommand, Integer> idExtractor) {
+        return commands.stream()
+                .filter(Objects::nonNull)
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 }
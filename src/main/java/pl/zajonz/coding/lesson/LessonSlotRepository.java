@@ -0,0 +1,21 @@
+package pl.zajonz.coding.lesson;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonSlotId;
+
+import java.util.Collection;
+
+public interface LessonSlotRepository extends JpaRepository<LessonSlot, LessonSlotId> {
+
+    @Modifying
+    @Query("delete from LessonSlot s where s.lessonId = :lessonId")
+    int deleteAllByLessonId(@Param("lessonId") int lessonId);
+
+    @Modifying
+    @Query("delete from LessonSlot s where s.lessonId in :lessonIds")
+    int deleteAllByLessonIdIn(@Param("lessonIds") Collection<Integer> lessonIds);
+}
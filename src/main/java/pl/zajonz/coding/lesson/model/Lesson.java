@@ -2,8 +2,10 @@ package pl.zajonz.coding.lesson.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import pl.zajonz.coding.common.PooledIdGenerator;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.teacher.model.Teacher;
 import java.time.LocalDateTime;
@@ -14,16 +16,25 @@ import java.time.LocalDateTime;
 @Setter
 @Builder
 @Entity
-@SQLDelete(sql = "UPDATE coding_db.lesson SET deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE lesson SET deleted = true WHERE id=?")
 public class Lesson {
+
+    public static final int DEFAULT_DURATION = 60;
+    public static final int MAX_DURATION = 240;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "lesson_id")
+    @GenericGenerator(name = "lesson_id", strategy = PooledIdGenerator.STRATEGY)
     private int id;
     @ManyToOne
     private Student student;
     @ManyToOne
     private Teacher teacher;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private LessonSeries series;
     private LocalDateTime term;
+    @Builder.Default
+    private int duration = DEFAULT_DURATION;
     private boolean deleted = Boolean.FALSE;
 
 }
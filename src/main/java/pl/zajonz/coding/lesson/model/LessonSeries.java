@@ -0,0 +1,39 @@
+package pl.zajonz.coding.lesson.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.SQLDelete;
+import pl.zajonz.coding.common.PooledIdGenerator;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@SQLDelete(sql = "UPDATE lesson_series SET deleted = true WHERE id=?")
+public class LessonSeries {
+
+    @Id
+    @GeneratedValue(generator = "lesson_series_id")
+    @GenericGenerator(name = "lesson_series_id", strategy = PooledIdGenerator.STRATEGY)
+    private int id;
+    @ManyToOne
+    private Student student;
+    @ManyToOne
+    private Teacher teacher;
+    private LocalDateTime firstTerm;
+    @Enumerated(EnumType.STRING)
+    private Recurrence recurrence;
+    private Integer occurrences;
+    private LocalDate endDate;
+    private int duration;
+    private boolean deleted = Boolean.FALSE;
+
+}
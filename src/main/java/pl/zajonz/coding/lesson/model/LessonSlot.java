@@ -0,0 +1,76 @@
+package pl.zajonz.coding.lesson.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reservation of a {@value #SLOT_MINUTES}-minute slot of a teacher by a lesson. The primary key on
+ * (teacher_id, slot) makes the database reject overlapping lessons of the same teacher on insert.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Entity
+@Table(name = "lesson_slot")
+public class LessonSlot implements Persistable<LessonSlotId> {
+
+    public static final int SLOT_MINUTES = 15;
+
+    @EmbeddedId
+    private LessonSlotId id;
+    @Column(name = "lesson_id")
+    private int lessonId;
+
+    public static List<LessonSlot> fromEntity(Lesson lesson) {
+        return fromTerm(LessonTerm.fromEntity(lesson));
+    }
+
+    public static List<LessonSlot> fromTerm(LessonTerm term) {
+        List<LessonSlot> slots = new ArrayList<>();
+        for (LocalDateTime slot = slotOf(term.getStart()); slot.isBefore(term.getEnd());
+             slot = slot.plusMinutes(SLOT_MINUTES)) {
+            slots.add(new LessonSlot(new LessonSlotId(term.getTeacherId(), slot), term.getLessonId()));
+        }
+        return slots;
+    }
+
+    /**
+     * Method checks if the term starts a slot, only such terms with durations being multiples of
+     * {@value #SLOT_MINUTES} minutes make the reserved slots collide exactly when the lessons overlap
+     */
+    public static boolean isAligned(LocalDateTime term) {
+        return slotOf(term).equals(term);
+    }
+
+    /**
+     * Method returns the given term when it starts a slot, otherwise the start of the following slot
+     */
+    public static LocalDateTime nextSlotOf(LocalDateTime term) {
+        LocalDateTime slot = slotOf(term);
+        return slot.equals(term) ? slot : slot.plusMinutes(SLOT_MINUTES);
+    }
+
+    /**
+     * Method returns the start of the slot containing the given term
+     */
+    public static LocalDateTime slotOf(LocalDateTime term) {
+        return term.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes(term.getMinute() / SLOT_MINUTES * SLOT_MINUTES);
+    }
+
+    /**
+     * Slots are only ever inserted or deleted, so they are always persisted without the select that merge would issue.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
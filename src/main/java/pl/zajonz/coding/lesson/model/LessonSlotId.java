@@ -0,0 +1,23 @@
+package pl.zajonz.coding.lesson.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+@Embeddable
+public class LessonSlotId implements Serializable {
+
+    @Column(name = "teacher_id")
+    private int teacherId;
+    private LocalDateTime slot;
+}
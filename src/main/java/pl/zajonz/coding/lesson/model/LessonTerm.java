@@ -0,0 +1,32 @@
+package pl.zajonz.coding.lesson.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time interval occupied by a single lesson of a teacher, {@code start} inclusive and {@code end} exclusive.
+ */
+@Value
+public class LessonTerm {
+
+    int lessonId;
+    int teacherId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public LessonTerm(int lessonId, int teacherId, LocalDateTime start, int duration) {
+        this.lessonId = lessonId;
+        this.teacherId = teacherId;
+        this.start = start;
+        this.end = start.plusMinutes(duration);
+    }
+
+    public static LessonTerm fromEntity(Lesson lesson) {
+        return new LessonTerm(lesson.getId(), lesson.getTeacher().getId(), lesson.getTerm(), lesson.getDuration());
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return start.isBefore(to) && end.isAfter(from);
+    }
+}
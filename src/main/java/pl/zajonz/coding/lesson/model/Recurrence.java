@@ -0,0 +1,26 @@
+package pl.zajonz.coding.lesson.model;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+
+public enum Recurrence {
+
+    DAILY(Period.ofDays(1)),
+    WEEKLY(Period.ofWeeks(1)),
+    BIWEEKLY(Period.ofWeeks(2)),
+    MONTHLY(Period.ofMonths(1));
+
+    private final Period period;
+
+    Recurrence(Period period) {
+        this.period = period;
+    }
+
+    /**
+     * Method computes the term of the n-th occurrence from the first one, so monthly series do not drift
+     * after a shorter month
+     */
+    public LocalDateTime occurrence(LocalDateTime firstTerm, int index) {
+        return firstTerm.plus(period.multipliedBy(index));
+    }
+}
@@ -1,10 +1,13 @@
 package pl.zajonz.coding.lesson.model.command;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
 import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSlot;
 
 import java.time.LocalDateTime;
 
@@ -19,10 +22,25 @@ public class CreateLessonCommand {
     @NotNull(message = "term cannot be null")
     @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime term;
+    @Min(value = 15, message = "duration must be equal to or greater than 15 minutes")
+    @Max(value = Lesson.MAX_DURATION, message = "duration must be equal to or less than " + Lesson.MAX_DURATION
+            + " minutes")
+    private Integer duration;
+
+    @AssertTrue(message = "term has to start at a multiple of " + LessonSlot.SLOT_MINUTES + " minutes")
+    public boolean isTermAligned() {
+        return term == null || LessonSlot.isAligned(term);
+    }
+
+    @AssertTrue(message = "duration has to be a multiple of " + LessonSlot.SLOT_MINUTES + " minutes")
+    public boolean isDurationAligned() {
+        return duration == null || duration % LessonSlot.SLOT_MINUTES == 0;
+    }
 
     public Lesson toEntity() {
         return Lesson.builder()
                 .term(term)
+                .duration(duration == null ? Lesson.DEFAULT_DURATION : duration)
                 .build();
     }
 }
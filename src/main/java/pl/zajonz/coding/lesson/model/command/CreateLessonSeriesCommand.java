@@ -0,0 +1,64 @@
+package pl.zajonz.coding.lesson.model.command;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSeries;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.Recurrence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class CreateLessonSeriesCommand {
+
+    public static final int MAX_OCCURRENCES = 520;
+
+    @NotNull(message = "student id cannot be null")
+    @Min(value = 1, message = "student id must be equal to or greater than 1")
+    private Integer studentId;
+    @NotNull(message = "teacher id cannot be null")
+    @Min(value = 1, message = "teacher id must be equal to or greater than 1")
+    private Integer teacherId;
+    @NotNull(message = "first term cannot be null")
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime firstTerm;
+    @Min(value = 15, message = "duration must be equal to or greater than 15 minutes")
+    @Max(value = Lesson.MAX_DURATION, message = "duration must be equal to or less than " + Lesson.MAX_DURATION
+            + " minutes")
+    private Integer duration;
+    @NotNull(message = "recurrence cannot be null")
+    private Recurrence recurrence;
+    @Min(value = 1, message = "occurrences must be equal to or greater than 1")
+    @Max(value = MAX_OCCURRENCES, message = "occurrences must be equal to or less than " + MAX_OCCURRENCES)
+    private Integer occurrences;
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    @AssertTrue(message = "exactly one of occurrences and end date has to be given")
+    public boolean isOccurrencesOrEndDate() {
+        return (occurrences == null) != (endDate == null);
+    }
+
+    @AssertTrue(message = "first term has to start at a multiple of " + LessonSlot.SLOT_MINUTES + " minutes")
+    public boolean isFirstTermAligned() {
+        return firstTerm == null || LessonSlot.isAligned(firstTerm);
+    }
+
+    @AssertTrue(message = "duration has to be a multiple of " + LessonSlot.SLOT_MINUTES + " minutes")
+    public boolean isDurationAligned() {
+        return duration == null || duration % LessonSlot.SLOT_MINUTES == 0;
+    }
+
+    public LessonSeries toEntity() {
+        return LessonSeries.builder()
+                .firstTerm(firstTerm)
+                .duration(duration == null ? Lesson.DEFAULT_DURATION : duration)
+                .recurrence(recurrence)
+                .occurrences(occurrences)
+                .endDate(endDate)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package pl.zajonz.coding.lesson.model.command;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+
+@Data
+public class ShiftLessonSeriesCommand {
+
+    @NotNull(message = "minutes cannot be null")
+    private Integer minutes;
+
+    @AssertTrue(message = "minutes have to be a multiple of " + LessonSlot.SLOT_MINUTES)
+    public boolean isMinutesAligned() {
+        return minutes == null || minutes % LessonSlot.SLOT_MINUTES == 0;
+    }
+
+}
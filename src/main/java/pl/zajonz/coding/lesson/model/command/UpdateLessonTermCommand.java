@@ -1,9 +1,11 @@
 package pl.zajonz.coding.lesson.model.command;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
 import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSlot;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +16,11 @@ public class UpdateLessonTermCommand {
     @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime term;
 
+    @AssertTrue(message = "term has to start at a multiple of " + LessonSlot.SLOT_MINUTES + " minutes")
+    public boolean isTermAligned() {
+        return term == null || LessonSlot.isAligned(term);
+    }
+
     public Lesson toEntity(){
         return Lesson.builder()
                 .term(term)
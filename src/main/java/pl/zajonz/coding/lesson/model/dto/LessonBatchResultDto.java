@@ -0,0 +1,30 @@
+package pl.zajonz.coding.lesson.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import pl.zajonz.coding.lesson.model.Lesson;
+
+@Getter
+@Builder
+public class LessonBatchResultDto {
+
+    private int index;
+    private boolean created;
+    private LessonDto lesson;
+    private String error;
+
+    public static LessonBatchResultDto created(int index, Lesson lesson) {
+        return LessonBatchResultDto.builder()
+                .index(index)
+                .created(true)
+                .lesson(LessonDto.fromEntity(lesson))
+                .build();
+    }
+
+    public static LessonBatchResultDto rejected(int index, String error) {
+        return LessonBatchResultDto.builder()
+                .index(index)
+                .error(error)
+                .build();
+    }
+}
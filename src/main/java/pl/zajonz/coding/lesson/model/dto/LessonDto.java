@@ -1,22 +1,39 @@
 package pl.zajonz.coding.lesson.model.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import pl.zajonz.coding.common.Language;
 import pl.zajonz.coding.lesson.model.Lesson;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.student.model.dto.StudentDto;
 import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Getter
 @Builder
+@AllArgsConstructor
 public class LessonDto {
 
     private int id;
     private TeacherDto teacher;
     private StudentDto student;
     private LocalDateTime term;
+    private int duration;
+    private Integer seriesId;
+
+    /**
+     * Constructor used by query projections selecting the lesson together with its teacher and student columns
+     */
+    public LessonDto(int id, LocalDateTime term, int duration, Integer seriesId,
+                     int teacherId, String teacherFirstName, String teacherLastName, Set<Language> teacherLanguages,
+                     int studentId, String studentFirstName, String studentLastName, Language studentLanguage) {
+        this(id, new TeacherDto(teacherId, teacherFirstName, teacherLastName, teacherLanguages),
+                new StudentDto(studentId, studentFirstName, studentLastName, studentLanguage),
+                term, duration, seriesId);
+    }
 
     public static LessonDto fromEntity(Lesson Lesson) {
         return LessonDto.builder()
@@ -24,6 +41,8 @@ public class LessonDto {
                 .student(StudentDto.fromEntity(Lesson.getStudent()))
                 .teacher(TeacherDto.fromEntity(Lesson.getTeacher()))
                 .term(Lesson.getTerm())
+                .duration(Lesson.getDuration())
+                .seriesId(Lesson.getSeries() == null ? null : Lesson.getSeries().getId())
                 .build();
     }
 
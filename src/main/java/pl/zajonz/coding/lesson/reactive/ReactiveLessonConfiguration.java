@@ -0,0 +1,79 @@
+package pl.zajonz.coding.lesson.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Non-blocking variant of the lesson API, enabled with the {@code reactive} profile. It is served by a Reactor Netty
+ * server started next to the servlet container on its own port, using a fixed number of event loop threads and an
+ * R2DBC connection pool. The transaction manager of the pool is not registered as a bean, so the JPA one stays the
+ * only transaction manager of the servlet stack.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ReactiveLessonProperties.class)
+public class ReactiveLessonConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionPool(ReactiveLessonProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.getMaxPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionPool reactiveConnectionPool) {
+        return DatabaseClient.create(reactiveConnectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionPool reactiveConnectionPool) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(reactiveConnectionPool));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveLoopResources(ReactiveLessonProperties properties) {
+        return LoopResources.create("reactive-http", properties.getEventLoopThreads(), true);
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveHttpServer(ReactiveLessonHandler handler, ObjectMapper objectMapper,
+                                               LoopResources reactiveLoopResources,
+                                               ReactiveLessonProperties properties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+        return HttpServer.create()
+                .port(properties.getPort())
+                .runOn(reactiveLoopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+    }
+}
@@ -0,0 +1,155 @@
+package pl.zajonz.coding.lesson.reactive;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import pl.zajonz.coding.common.Cursor;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
+import pl.zajonz.coding.common.exception.ErrorMessage;
+import pl.zajonz.coding.common.exception.InvalidDateException;
+import pl.zajonz.coding.common.exception.ValidationErrorMessage;
+import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.UpdateLessonTermCommand;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Functional endpoints of the reactive lesson API, mirroring the paths, status codes and error bodies of
+ * {@link pl.zajonz.coding.lesson.LessonController} and
+ * {@link pl.zajonz.coding.common.exception.GlobalExceptionHandler}.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLessonHandler {
+
+    private final ReactiveLessonService reactiveLessonService;
+
+    private final ResourceVersions resourceVersions;
+
+    private final Validator validator;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/api/v1/lessons", builder -> builder
+                        .GET(this::findAll)
+                        .POST(this::create)
+                        .GET("/{id}", this::findById)
+                        .PATCH("/{id}", this::updateTerm)
+                        .DELETE("/{id}", this::deleteLesson))
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(this::handleError))
+                .build();
+    }
+
+    private Mono<ServerResponse> findAll(ServerRequest request) {
+        int limit = request.queryParam("limit")
+                .map(Integer::parseInt)
+                .orElse(Cursor.DEFAULT_LIMIT);
+        LocalDateTime afterTerm = null;
+        int afterId = 0;
+        String after = request.queryParam("after").orElse(null);
+        if (after != null) {
+            List<String> key = Cursor.decode(after, 2);
+            try {
+                afterTerm = LocalDateTime.parse(key.get(0));
+                afterId = Integer.parseInt(key.get(1));
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid cursor " + after);
+            }
+        }
+        String tag = resourceVersions.collectionTag(Resource.LESSON, Resource.TEACHER, Resource.STUDENT);
+        if (isNotModified(request, tag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        return reactiveLessonService.findAllByDeletedFalse(afterTerm, afterId, limit)
+                .collectList()
+                .flatMap(lessons -> ServerResponse.ok()
+                        .eTag(tag)
+                        .headers(headers -> headers.addAll(Cursor.nextPageHeaders(lessons, limit,
+                                lesson -> Cursor.encode(lesson.getTerm(), lesson.getId()))))
+                        .bodyValue(lessons));
+    }
+
+    private Mono<ServerResponse> findById(ServerRequest request) {
+        int id = Integer.parseInt(request.pathVariable("id"));
+        String tag = resourceVersions.entityTag(Resource.LESSON, id, Resource.TEACHER, Resource.STUDENT);
+        if (isNotModified(request, tag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        return reactiveLessonService.findDtoById(id)
+                .flatMap(lesson -> ServerResponse.ok().eTag(tag).bodyValue(lesson));
+    }
+
+    private Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(CreateLessonCommand.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Request body is missing")))
+                .flatMap(command -> validated(command, () -> reactiveLessonService.save(command)
+                        .flatMap(lesson -> ServerResponse.status(HttpStatus.CREATED).bodyValue(lesson))));
+    }
+
+    private Mono<ServerResponse> updateTerm(ServerRequest request) {
+        int id = Integer.parseInt(request.pathVariable("id"));
+        return request.bodyToMono(UpdateLessonTermCommand.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Request body is missing")))
+                .flatMap(command -> validated(command, () -> reactiveLessonService.updateTerm(id, command)
+                        .flatMap(lesson -> ServerResponse.status(HttpStatus.ACCEPTED).bodyValue(lesson))));
+    }
+
+    private Mono<ServerResponse> deleteLesson(ServerRequest request) {
+        int id = Integer.parseInt(request.pathVariable("id"));
+        return reactiveLessonService.deleteById(id)
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * Method responds with the same body as a failed {@code @Valid} check of the servlet controller, or with the
+     * response of the given action when the command is valid
+     */
+    private <T> Mono<ServerResponse> validated(T command, Supplier<Mono<ServerResponse>> action) {
+        Set<ConstraintViolation<T>> violations = validator.validate(command);
+        if (violations.isEmpty()) {
+            return action.get();
+        }
+        ValidationErrorMessage error = new ValidationErrorMessage();
+        violations.forEach(violation -> error.addViolation(violation.getPropertyPath().toString(),
+                violation.getMessage()));
+        return ServerResponse.badRequest().bodyValue(error);
+    }
+
+    private Mono<ServerResponse> handleError(Throwable ex) {
+        if (ex instanceof EntityNotFoundException) {
+            return ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(new ErrorMessage(ex.getMessage()));
+        }
+        if (ex instanceof InvalidDateException || ex instanceof IllegalArgumentException) {
+            return ServerResponse.badRequest().bodyValue(new ErrorMessage(ex.getMessage()));
+        }
+        if (ex instanceof ResponseStatusException statusException) {
+            return ServerResponse.status(statusException.getStatusCode())
+                    .bodyValue(new ErrorMessage(statusException.getReason()));
+        }
+        return Mono.error(ex);
+    }
+
+    private static boolean isNotModified(ServerRequest request, String tag) {
+        String quoted = "\"" + tag + "\"";
+        return request.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+                .anyMatch(value -> value.contains(quoted) || value.trim().equals("*"));
+    }
+}
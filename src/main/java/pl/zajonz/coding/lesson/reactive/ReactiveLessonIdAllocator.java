@@ -0,0 +1,89 @@
+package pl.zajonz.coding.lesson.reactive;
+
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pl.zajonz.coding.common.PooledIdGenerator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out lesson ids of the reactive API from blocks reserved in the lesson row of id_generator, the same way the
+ * pooled-lo optimizer of {@link PooledIdGenerator} does for the JPA inserts: {@code next_val} is moved past a block of
+ * {@value PooledIdGenerator#ALLOCATION_SIZE} ids in one transaction and the ids of the block are then taken from
+ * memory. Callers finding the block used up wait for a single shared reservation of the next one.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveLessonIdAllocator {
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    private final TransactionalOperator reactiveTransactionalOperator;
+
+    private final int allocationSize;
+
+    private long next;
+    private long end;
+    private Mono<Void> reservation;
+
+    public ReactiveLessonIdAllocator(DatabaseClient reactiveDatabaseClient,
+                                     TransactionalOperator reactiveTransactionalOperator,
+                                     JpaProperties jpaProperties) {
+        this.reactiveDatabaseClient = reactiveDatabaseClient;
+        this.reactiveTransactionalOperator = reactiveTransactionalOperator;
+        this.allocationSize = Integer.parseInt(jpaProperties.getProperties()
+                .getOrDefault(PooledIdGenerator.ALLOCATION_SIZE, "100"));
+    }
+
+    public Mono<Integer> nextId() {
+        return Mono.defer(() -> {
+            Mono<Void> pending;
+            synchronized (this) {
+                if (next < end) {
+                    return Mono.just((int) next++);
+                }
+                if (reservation == null) {
+                    reservation = reserveBlock()
+                            .doOnNext(this::useBlock)
+                            .doOnError(ex -> clearReservation())
+                            .then()
+                            .cache();
+                }
+                pending = reservation;
+            }
+            return pending.then(nextId());
+        });
+    }
+
+    /**
+     * @return first id of the reserved block
+     */
+    private Mono<Long> reserveBlock() {
+        return reactiveDatabaseClient.sql("SELECT next_val FROM id_generator WHERE name = 'lesson' FOR UPDATE")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("id_generator has no lesson row")))
+                .flatMap(first -> reactiveDatabaseClient
+                        .sql("UPDATE id_generator SET next_val = :next WHERE name = 'lesson'")
+                        .bind("next", first + allocationSize)
+                        .then()
+                        .thenReturn(first))
+                .as(reactiveTransactionalOperator::transactional);
+    }
+
+    /**
+     * The reservation is cleared together with publishing the block, so the callers resumed by it never see
+     * a completed reservation of an already used up block
+     */
+    private synchronized void useBlock(long first) {
+        next = first;
+        end = first + allocationSize;
+        reservation = null;
+    }
+
+    private synchronized void clearReservation() {
+        reservation = null;
+    }
+}
@@ -0,0 +1,29 @@
+package pl.zajonz.coding.lesson.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties("coding.reactive")
+public class ReactiveLessonProperties {
+
+    /**
+     * Port of the reactive server, separate from the servlet one
+     */
+    private int port = 8081;
+
+    /**
+     * Number of event loop threads handling all the connections of the reactive server
+     */
+    private int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * R2DBC url of the database, e.g. r2dbc:mysql://localhost:3306/coding_db
+     */
+    private String url;
+    private String username;
+    private String password;
+    private int maxPoolSize = 20;
+}
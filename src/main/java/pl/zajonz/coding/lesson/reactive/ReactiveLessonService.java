@@ -0,0 +1,244 @@
+package pl.zajonz.coding.lesson.reactive;
+
+import io.r2dbc.spi.Readable;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pl.zajonz.coding.common.Cursor;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.LanguageSetConverter;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
+import pl.zajonz.coding.common.exception.InvalidDateException;
+import pl.zajonz.coding.lesson.LessonAvailability;
+import pl.zajonz.coding.lesson.LessonSchedule;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
+import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.UpdateLessonTermCommand;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
+import pl.zajonz.coding.student.model.dto.StudentDto;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking counterpart of the lesson reads and single lesson writes of
+ * {@link pl.zajonz.coding.lesson.LessonServiceImpl}, applying the same checks against the in-memory
+ * {@link LessonSchedule} and the same slot reservations, with the same error messages.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLessonService {
+
+    private static final String LESSON_DTO = "SELECT l.id, l.term, l.duration, l.series_id, "
+            + "t.id AS teacher_id, t.first_name AS teacher_first_name, t.last_name AS teacher_last_name, "
+            + "t.languages AS teacher_languages, s.id AS student_id, s.first_name AS student_first_name, "
+            + "s.last_name AS student_last_name, s.language AS student_language "
+            + "FROM lesson l JOIN teacher t ON t.id = l.teacher_id JOIN student s ON s.id = l.student_id ";
+
+    private static final LanguageSetConverter LANGUAGE_SET_CONVERTER = new LanguageSetConverter();
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    private final TransactionalOperator reactiveTransactionalOperator;
+
+    private final ReactiveLessonIdAllocator reactiveLessonIdAllocator;
+
+    private final LessonSchedule lessonSchedule;
+
+    private final LessonAvailability lessonAvailability;
+
+    private final ResourceVersions resourceVersions;
+
+    public Flux<LessonDto> findAllByDeletedFalse(LocalDateTime afterTerm, int afterId, int limit) {
+        return Flux.defer(() -> {
+            Cursor.checkLimit(limit);
+            if (afterTerm == null) {
+                return reactiveDatabaseClient.sql(LESSON_DTO
+                                + "WHERE l.deleted = FALSE ORDER BY l.term, l.id LIMIT :limit")
+                        .bind("limit", limit)
+                        .map(ReactiveLessonService::toDto)
+                        .all();
+            }
+            return reactiveDatabaseClient.sql(LESSON_DTO + "WHERE l.deleted = FALSE "
+                            + "AND (l.term > :term OR (l.term = :term AND l.id > :id)) "
+                            + "ORDER BY l.term, l.id LIMIT :limit")
+                    .bind("term", afterTerm)
+                    .bind("id", afterId)
+                    .bind("limit", limit)
+                    .map(ReactiveLessonService::toDto)
+                    .all();
+        });
+    }
+
+    public Mono<LessonDto> findDtoById(int id) {
+        return reactiveDatabaseClient.sql(LESSON_DTO + "WHERE l.id = :id")
+                .bind("id", id)
+                .map(ReactiveLessonService::toDto)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(MessageFormat
+                        .format("Lesson with id={0} has not been found", id))));
+    }
+
+    public Mono<LessonDto> save(CreateLessonCommand command) {
+        return Mono.defer(() -> {
+            Lesson toSave = command.toEntity();
+            if (!lessonAvailability.isAvailable(toSave.getTerm(), toSave.getDuration(), command.getTeacherId(), 0)) {
+                return Mono.error(new InvalidDateException("Invalid date " + toSave.getTerm()));
+            }
+            return Mono.zip(findTeacher(command.getTeacherId()), findStudent(command.getStudentId()))
+                    .flatMap(found -> reactiveLessonIdAllocator.nextId()
+                            .flatMap(id -> {
+                                LessonTerm term = new LessonTerm(id, command.getTeacherId(), toSave.getTerm(),
+                                        toSave.getDuration());
+                                return insertLesson(id, command, toSave)
+                                        .then(reserveSlots(term, "Invalid date " + toSave.getTerm()))
+                                        .thenReturn(term)
+                                        .as(reactiveTransactionalOperator::transactional);
+                            })
+                            .doOnSuccess(this::afterWrite)
+                            .map(term -> new LessonDto(term.getLessonId(), found.getT1(), found.getT2(),
+                                    toSave.getTerm(), toSave.getDuration(), null)));
+        });
+    }
+
+    public Mono<LessonDto> updateTerm(int lessonId, UpdateLessonTermCommand command) {
+        return findTerm(lessonId)
+                .flatMap(current -> {
+                    int duration = (int) Duration.between(current.getStart(), current.getEnd()).toMinutes();
+                    if (!lessonAvailability.isAvailable(command.getTerm(), duration, current.getTeacherId(),
+                            lessonId)) {
+                        return Mono.error(new InvalidDateException("Invalid date " + command.getTerm()));
+                    }
+                    LessonTerm moved = new LessonTerm(lessonId, current.getTeacherId(), command.getTerm(), duration);
+                    return reactiveDatabaseClient.sql("UPDATE lesson SET term = :term WHERE id = :id")
+                            .bind("term", command.getTerm())
+                            .bind("id", lessonId)
+                            .then()
+                            .then(deleteSlots(lessonId))
+                            .then(reserveSlots(moved, "Invalid date " + command.getTerm()))
+                            .thenReturn(moved)
+                            .as(reactiveTransactionalOperator::transactional)
+                            .doOnSuccess(this::afterWrite);
+                })
+                .then(Mono.defer(() -> findDtoById(lessonId)));
+    }
+
+    public Mono<Void> deleteById(int id) {
+        return findTerm(id)
+                .flatMap(current -> {
+                    if (current.getStart().isBefore(LocalDateTime.now())) {
+                        return Mono.error(new InvalidDateException("The term is in the past"));
+                    }
+                    return reactiveDatabaseClient.sql("UPDATE lesson SET deleted = TRUE WHERE id = :id")
+                            .bind("id", id)
+                            .then()
+                            .then(deleteSlots(id))
+                            .as(reactiveTransactionalOperator::transactional)
+                            .then(Mono.<Void>fromRunnable(() -> {
+                                lessonSchedule.remove(id);
+                                resourceVersions.bump(Resource.LESSON, id);
+                            }));
+                });
+    }
+
+    private Mono<TeacherDto> findTeacher(int id) {
+        return reactiveDatabaseClient.sql("SELECT id, first_name, last_name, languages FROM teacher WHERE id = :id")
+                .bind("id", id)
+                .map(row -> new TeacherDto(row.get("id", Integer.class), row.get("first_name", String.class),
+                        row.get("last_name", String.class),
+                        LANGUAGE_SET_CONVERTER.convertToEntityAttribute(row.get("languages", Integer.class))))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(MessageFormat
+                        .format("Teacher with id={0} has not been found", id))));
+    }
+
+    private Mono<StudentDto> findStudent(int id) {
+        return reactiveDatabaseClient.sql("SELECT id, first_name, last_name, language FROM student WHERE id = :id")
+                .bind("id", id)
+                .map(row -> new StudentDto(row.get("id", Integer.class), row.get("first_name", String.class),
+                        row.get("last_name", String.class), toLanguage(row.get("language", String.class))))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(MessageFormat
+                        .format("Student with id={0} has not been found", id))));
+    }
+
+    private Mono<LessonTerm> findTerm(int lessonId) {
+        return reactiveDatabaseClient.sql("SELECT teacher_id, term, duration FROM lesson WHERE id = :id")
+                .bind("id", lessonId)
+                .map(row -> new LessonTerm(lessonId, row.get("teacher_id", Integer.class),
+                        row.get("term", LocalDateTime.class), row.get("duration", Integer.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(MessageFormat
+                        .format("Lesson with id={0} has not been found", lessonId))));
+    }
+
+    private Mono<Void> insertLesson(int id, CreateLessonCommand command, Lesson toSave) {
+        return reactiveDatabaseClient.sql("INSERT INTO lesson (id, student_id, teacher_id, term, duration, deleted) "
+                        + "VALUES (:id, :studentId, :teacherId, :term, :duration, FALSE)")
+                .bind("id", id)
+                .bind("studentId", command.getStudentId())
+                .bind("teacherId", command.getTeacherId())
+                .bind("term", toSave.getTerm())
+                .bind("duration", toSave.getDuration())
+                .then();
+    }
+
+    /**
+     * Method inserts the slot reservations of the lesson in a single statement, the primary key of lesson_slot
+     * rejects the ones already taken by a concurrent booking
+     */
+    private Mono<Void> reserveSlots(LessonTerm term, String conflictMessage) {
+        List<LessonSlot> slots = LessonSlot.fromTerm(term);
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < slots.size(); i++) {
+            values.add("(:teacherId, :slot" + i + ", :lessonId)");
+        }
+        DatabaseClient.GenericExecuteSpec statement = reactiveDatabaseClient
+                .sql("INSERT INTO lesson_slot (teacher_id, slot, lesson_id) VALUES " + values)
+                .bind("teacherId", term.getTeacherId())
+                .bind("lessonId", term.getLessonId());
+        for (int i = 0; i < slots.size(); i++) {
+            statement = statement.bind("slot" + i, slots.get(i).getId().getSlot());
+        }
+        return statement.then()
+                .onErrorMap(DataIntegrityViolationException.class, ex -> new InvalidDateException(conflictMessage));
+    }
+
+    private Mono<Void> deleteSlots(int lessonId) {
+        return reactiveDatabaseClient.sql("DELETE FROM lesson_slot WHERE lesson_id = :lessonId")
+                .bind("lessonId", lessonId)
+                .then();
+    }
+
+    private void afterWrite(LessonTerm term) {
+        lessonSchedule.put(term);
+        resourceVersions.bump(Resource.LESSON, term.getLessonId());
+    }
+    private static LessonDto toDto(Readable row) {
+        return new LessonDto(row.get("id", Integer.class), row.get("term", LocalDateTime.class),
+                row.get("duration", Integer.class), row.get("series_id", Integer.class),
+                row.get("teacher_id", Integer.class), row.get("teacher_first_name", String.class),
+                row.get("teacher_last_name", String.class),
+                LANGUAGE_SET_CONVERTER.convertToEntityAttribute(row.get("teacher_languages", Integer.class)),
+                row.get("student_id", Integer.class), row.get("student_first_name", String.class),
+                row.get("student_last_name", String.class), toLanguage(row.get("student_language", String.class)));
+    }
+
+    private static Language toLanguage(String language) {
+        return language == null ? null : Language.valueOf(language);
+    }
+}
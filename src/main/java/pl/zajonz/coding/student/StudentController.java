@@ -3,7 +3,12 @@ package pl.zajonz.coding.student;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import pl.zajonz.coding.common.Cursor;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.student.model.command.CreateStudentCommand;
 import pl.zajonz.coding.student.model.command.UpdateStudentCommand;
@@ -18,16 +23,27 @@ public class StudentController {
 
     private final StudentService studentService;
 
+    private final ResourceVersions resourceVersions;
+
     @GetMapping
-    public List<StudentDto> findAll() {
-        return studentService.findAllByDeletedFalse().stream()
-                .map(StudentDto::fromEntity)
-                .toList();
+    public ResponseEntity<List<StudentDto>> findAll(@RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "" + Cursor.DEFAULT_LIMIT) int limit,
+                                                    WebRequest request) {
+        if (request.checkNotModified(resourceVersions.collectionTag(Resource.STUDENT))) {
+            return null;
+        }
+        List<StudentDto> students = studentService.findAllByDeletedFalse(Cursor.decodeId(after), limit);
+        return ResponseEntity.ok()
+                .headers(Cursor.nextPageHeaders(students, limit, student -> Cursor.encode(student.getId())))
+                .body(students);
     }
 
     @GetMapping("/{id}")
-    public StudentDto findById(@PathVariable int id) {
-        return StudentDto.fromEntity(studentService.findById(id));
+    public StudentDto findById(@PathVariable int id, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.entityTag(Resource.STUDENT, id))) {
+            return null;
+        }
+        return studentService.findDtoById(id);
     }
 
     @PostMapping
@@ -1,12 +1,25 @@
 package pl.zajonz.coding.student;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.student.model.dto.StudentDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student,Integer> {
     List<Student> findAllByTeacher_IdAndDeletedFalse(int id);
 
     List<Student> findAllByDeletedFalse();
+
+    @Query("select new pl.zajonz.coding.student.model.dto.StudentDto(s.id, s.firstName, s.lastName, s.language) " +
+            "from Student s where s.deleted = false and s.id > :id order by s.id")
+    List<StudentDto> findAllDtosByDeletedFalseAndIdGreaterThan(@Param("id") int id, Pageable pageable);
+
+    @Query("select new pl.zajonz.coding.student.model.dto.StudentDto(s.id, s.firstName, s.lastName, s.language) " +
+            "from Student s where s.id = :id")
+    Optional<StudentDto> findDtoById(@Param("id") int id);
 }
@@ -12,6 +12,13 @@ public interface StudentService {
 
     List<Student> findAllByDeletedFalse();
 
+    /**
+     * Method returns a page of active students ordered by id, starting after the given id
+     *
+     * @return at most {@code limit} students
+     */
+    List<StudentDto> findAllByDeletedFalse(int afterId, int limit);
+
     Student save(CreateStudentCommand command);
 
     void deleteById(int id);
@@ -22,5 +29,10 @@ public interface StudentService {
 
     Student findById(int id);
 
+    /**
+     * Method reads the student directly into a {@link StudentDto}, without loading the entity
+     */
+    StudentDto findDtoById(int id);
+
     Student update(int id, Student student);
 }
@@ -1,10 +1,18 @@
 package pl.zajonz.coding.student;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.zajonz.coding.common.Cursor;
+import pl.zajonz.coding.common.MetricsConfiguration;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.student.model.command.CreateStudentCommand;
+import pl.zajonz.coding.student.model.dto.StudentDto;
 import pl.zajonz.coding.teacher.TeacherRepository;
 import pl.zajonz.coding.teacher.model.Teacher;
 
@@ -13,11 +21,13 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 @Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final ResourceVersions resourceVersions;
 
     @Override
     public List<Student> findAllByDeletedFalse() {
@@ -25,18 +35,30 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<StudentDto> findAllByDeletedFalse(int afterId, int limit) {
+        Cursor.checkLimit(limit);
+        return studentRepository.findAllDtosByDeletedFalseAndIdGreaterThan(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
     public Student save(CreateStudentCommand command) {
         Student toSave = command.toEntity();
         toSave.setTeacher(findTeacherId(command.getTeacherId()));
         if (!toSave.getTeacher().getLanguages().contains(toSave.getLanguage())){
             throw new IllegalArgumentException("Wrong teacher " + toSave.getTeacher().getId());
         }
-        return studentRepository.save(toSave);
+        Student saved = studentRepository.save(toSave);
+        resourceVersions.bump(Resource.STUDENT, saved.getId());
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteById(int id) {
         studentRepository.deleteById(id);
+        resourceVersions.bump(Resource.STUDENT, id);
     }
 
     @Override
@@ -59,10 +81,21 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public StudentDto findDtoById(int id) {
+        return studentRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException(MessageFormat
+                        .format("Student with id={0} has not been found", id)));
+    }
+
+    @Override
+    @Transactional
     public Student update(int id, Student student) {
         Student studentToUpdate = findById(id);
         studentToUpdate.setFirstName(student.getFirstName());
         studentToUpdate.setLastName(student.getLastName());
-        return studentRepository.save(studentToUpdate);
+        Student saved = studentRepository.save(studentToUpdate);
+        resourceVersions.bump(Resource.STUDENT, id);
+        return saved;
     }
 }
@@ -3,9 +3,13 @@ package pl.zajonz.coding.student.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.PooledIdGenerator;
 import pl.zajonz.coding.lesson.model.Lesson;
 import pl.zajonz.coding.teacher.model.Teacher;
 
@@ -17,10 +21,13 @@ import java.util.Set;
 @Setter
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SQLDelete(sql = "UPDATE student SET deleted = true WHERE id=?")
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "student_id")
+    @GenericGenerator(name = "student_id", strategy = PooledIdGenerator.STRATEGY)
     private int id;
 
     private String firstName;
@@ -1,5 +1,6 @@
 package pl.zajonz.coding.student.model.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import pl.zajonz.coding.common.Language;
@@ -7,6 +8,7 @@ import pl.zajonz.coding.student.model.Student;
 
 @Getter
 @Builder
+@AllArgsConstructor
 public class StudentDto {
 
     private int id;
@@ -2,15 +2,24 @@ package pl.zajonz.coding.teacher;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import pl.zajonz.coding.common.Cursor;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
 import pl.zajonz.coding.teacher.model.Teacher;
 import pl.zajonz.coding.teacher.model.command.CreateTeacherCommand;
 import pl.zajonz.coding.teacher.model.command.UpdateTeacherCommand;
 import pl.zajonz.coding.teacher.model.command.UpdateTeacherLanguageCommand;
+import pl.zajonz.coding.teacher.model.dto.FreeSlotDto;
 import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,23 +29,53 @@ public class TeacherController {
 
     private final TeacherService teacherService;
 
+    private final TeacherLanguageResponseCache teacherLanguageResponseCache;
+
+    private final ResourceVersions resourceVersions;
+
     @GetMapping
-    public List<TeacherDto> findAll() {
-        return teacherService.findAllByDeletedFalse().stream()
-                .map(TeacherDto::fromEntity)
-                .toList();
+    public ResponseEntity<List<TeacherDto>> findAll(@RequestParam(required = false) String after,
+                                                   @RequestParam(defaultValue = "" + Cursor.DEFAULT_LIMIT) int limit,
+                                                   WebRequest request) {
+        if (request.checkNotModified(resourceVersions.collectionTag(Resource.TEACHER))) {
+            return null;
+        }
+        List<TeacherDto> teachers = teacherService.findAllByDeletedFalse(Cursor.decodeId(after), limit);
+        return ResponseEntity.ok()
+                .headers(Cursor.nextPageHeaders(teachers, limit, teacher -> Cursor.encode(teacher.getId())))
+                .body(teachers);
     }
 
     @GetMapping(params = "language")
-    public List<TeacherDto> findAllByLanguage(@RequestParam Language language) {
-        return teacherService.findAllByLanguagesContainingAndDeletedFalse(language).stream()
-                .map(TeacherDto::fromEntity)
-                .toList();
+    public ResponseEntity<byte[]> findAllByLanguage(@RequestParam Language language) {
+        byte[] json = teacherLanguageResponseCache.find(language,
+                () -> teacherService.findAllByLanguagesContainingAndDeletedFalse(language));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    @GetMapping("/available")
+    public List<TeacherDto> findAllAvailable(@RequestParam Language language,
+                                             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime at,
+                                             @RequestParam(defaultValue = "60") int duration) {
+        return teacherService.findAllAvailable(language, at, duration);
     }
 
     @GetMapping("/{id}")
-    public TeacherDto findById(@PathVariable int id) {
-        return TeacherDto.fromEntity(teacherService.findById(id));
+    public TeacherDto findById(@PathVariable int id, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.entityTag(Resource.TEACHER, id))) {
+            return null;
+        }
+        return teacherService.findDtoById(id);
+    }
+
+    @GetMapping("/{id}/availability")
+    public List<FreeSlotDto> findAvailability(@PathVariable int id,
+                                              @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime to,
+                                              @RequestParam(defaultValue = "60") int duration) {
+        return teacherService.findAvailability(id, from, to, duration);
     }
 
     @PostMapping
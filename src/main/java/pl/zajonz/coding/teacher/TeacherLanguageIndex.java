@@ -0,0 +1,158 @@
+package pl.zajonz.coding.teacher;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory bitmap of not deleted teacher ids per {@link Language}, together with the teachers themselves, so language
+ * lookups are answered without a database round trip. The snapshot is copied on write, so readers always see
+ * a consistent one. It is updated by every teacher write and periodically reconciled with the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeacherLanguageIndex {
+
+    private final TeacherRepository teacherRepository;
+
+    private final TeacherLanguageResponseCache teacherLanguageResponseCache;
+
+    private volatile Snapshot snapshot = Snapshot.empty();
+    private Map<Integer, TeacherDto> changedDuringLoad;
+
+    @PostConstruct
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Method rebuilds the index from the database. Writes applied while the teachers are being read are replayed
+     * on the rebuilt index, so they are not lost when it replaces the current one.
+     */
+    @Scheduled(initialDelayString = "${coding.teacher-language-index.reconcile-delay:PT10M}",
+            fixedDelayString = "${coding.teacher-language-index.reconcile-delay:PT10M}")
+    public void reconcile() {
+        if (!rebuild()) {
+            teacherLanguageResponseCache.invalidate();
+            log.warn("Teacher language index was out of sync with the database and has been rebuilt");
+        }
+    }
+
+    /**
+     * @return copy of the bitmap of teachers knowing the language, safe to modify
+     */
+    public BitSet findTeacherIds(Language language) {
+        return (BitSet) snapshot.teachersByLanguage().get(language).clone();
+    }
+
+    /**
+     * Method returns the indexed teachers with the given ids, the ids of teachers not in the index are skipped
+     *
+     * @return teachers ordered by id
+     */
+    public List<TeacherDto> findTeachers(BitSet ids) {
+        Map<Integer, TeacherDto> teachers = snapshot.teachers();
+        return ids.stream()
+                .mapToObj(teachers::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public synchronized void put(TeacherDto teacher) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(teacher.getId(), teacher);
+        }
+        snapshot = snapshot.with(teacher.getId(), teacher);
+    }
+
+    public synchronized void remove(int teacherId) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(teacherId, null);
+        }
+        snapshot = snapshot.with(teacherId, null);
+    }
+
+    /**
+     * @return true when the rebuilt index is equal to the replaced one
+     */
+    private boolean rebuild() {
+        synchronized (this) {
+            changedDuringLoad = new HashMap<>();
+        }
+        Snapshot index = Snapshot.empty();
+        for (TeacherDto teacher : teacherRepository.findAllDtosByDeletedFalse()) {
+            index.add(teacher);
+        }
+        synchronized (this) {
+            for (Map.Entry<Integer, TeacherDto> change : changedDuringLoad.entrySet()) {
+                index = index.with(change.getKey(), change.getValue());
+            }
+            changedDuringLoad = null;
+            boolean unchanged = index.equals(snapshot);
+            snapshot = index;
+            return unchanged;
+        }
+    }
+
+    /**
+     * Bitmaps and teachers replaced together, only {@link #add(TeacherDto)} modifies an instance and only before it
+     * is published
+     */
+    private record Snapshot(Map<Language, BitSet> teachersByLanguage, Map<Integer, TeacherDto> teachers) {
+
+        static Snapshot empty() {
+            Map<Language, BitSet> index = new EnumMap<>(Language.class);
+            for (Language language : Language.values()) {
+                index.put(language, new BitSet());
+            }
+            return new Snapshot(index, new HashMap<>());
+        }
+
+        void add(TeacherDto teacher) {
+            for (Language language : languagesOf(teacher)) {
+                teachersByLanguage.get(language).set(teacher.getId());
+            }
+            teachers.put(teacher.getId(), teacher);
+        }
+
+        /**
+         * @param teacher new state of the teacher, null when it has been removed
+         */
+        Snapshot with(int teacherId, TeacherDto teacher) {
+            Map<Language, BitSet> index = new EnumMap<>(teachersByLanguage);
+            Set<Language> languages = languagesOf(teacher);
+            for (Language language : Language.values()) {
+                boolean known = languages.contains(language);
+                if (index.get(language).get(teacherId) != known) {
+                    BitSet teacherIds = (BitSet) index.get(language).clone();
+                    teacherIds.set(teacherId, known);
+                    index.put(language, teacherIds);
+                }
+            }
+            Map<Integer, TeacherDto> copy = new HashMap<>(teachers);
+            if (teacher == null) {
+                copy.remove(teacherId);
+            } else {
+                copy.put(teacherId, teacher);
+            }
+            return new Snapshot(index, copy);
+        }
+
+        private static Set<Language> languagesOf(TeacherDto teacher) {
+            return teacher == null || teacher.getLanguages() == null ? Set.of() : teacher.getLanguages();
+        }
+    }
+}
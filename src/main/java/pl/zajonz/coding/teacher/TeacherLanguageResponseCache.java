@@ -0,0 +1,56 @@
+package pl.zajonz.coding.teacher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Already serialized JSON of the teachers knowing each {@link Language}. Every entry remembers the generation it was
+ * built in and any teacher write starts a new generation, so a response computed concurrently with a write is never
+ * served afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeacherLanguageResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReferenceArray<CachedResponse> responses = new AtomicReferenceArray<>(Language.values().length);
+
+    /**
+     * @param loader source of the teachers used when there is no response of the current generation
+     * @return JSON array of the teachers
+     */
+    public byte[] find(Language language, Supplier<List<TeacherDto>> loader) {
+        long current = generation.get();
+        CachedResponse cached = responses.get(language.ordinal());
+        if (cached != null && cached.generation() == current) {
+            return cached.json();
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        responses.set(language.ordinal(), new CachedResponse(current, json));
+        return json;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private record CachedResponse(long generation, byte[] json) {
+    }
+}
@@ -1,13 +1,37 @@
 package pl.zajonz.coding.teacher;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.LanguageSetConverter;
 import pl.zajonz.coding.teacher.model.Teacher;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TeacherRepository extends JpaRepository<Teacher, Integer> {
 
+    String TEACHER_DTO = "select new pl.zajonz.coding.teacher.model.dto.TeacherDto(" +
+            "t.id, t.firstName, t.lastName, t.languages) from Teacher t ";
+
     List<Teacher> findAllByDeletedFalse();
-    List<Teacher> findAllByLanguagesContainingAndDeletedFalse(Language language);
+
+    @Query(TEACHER_DTO + "where t.deleted = false and t.id > :id order by t.id")
+    List<TeacherDto> findAllDtosByDeletedFalseAndIdGreaterThan(@Param("id") int id, Pageable pageable);
+
+    @Query(TEACHER_DTO + "where t.id = :id")
+    Optional<TeacherDto> findDtoById(@Param("id") int id);
+
+    @Query(TEACHER_DTO + "where t.deleted = false and bitand(t.languages, cast(:mask as Integer)) <> 0 order by t.id")
+    List<TeacherDto> findAllDtosByDeletedFalseAndLanguageMask(@Param("mask") int mask);
+
+    @Query(TEACHER_DTO + "where t.deleted = false")
+    List<TeacherDto> findAllDtosByDeletedFalse();
+
+    default List<TeacherDto> findAllDtosByDeletedFalseAndLanguage(Language language) {
+        return findAllDtosByDeletedFalseAndLanguageMask(LanguageSetConverter.toMask(language));
+    }
 }
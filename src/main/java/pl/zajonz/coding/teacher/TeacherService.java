@@ -4,8 +4,10 @@ import pl.zajonz.coding.common.Language;
 import pl.zajonz.coding.teacher.model.Teacher;
 import pl.zajonz.coding.teacher.model.command.UpdateTeacherCommand;
 import pl.zajonz.coding.teacher.model.command.UpdateTeacherLanguageCommand;
+import pl.zajonz.coding.teacher.model.dto.FreeSlotDto;
 import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TeacherService {
@@ -17,15 +19,47 @@ public interface TeacherService {
      */
     List<Teacher> findAllByDeletedFalse();
 
+    /**
+     * Method returns a page of active teachers ordered by id, starting after the given id
+     *
+     * @return at most {@code limit} teachers
+     */
+    List<TeacherDto> findAllByDeletedFalse(int afterId, int limit);
+
     Teacher save(Teacher teacher);
 
-    List<Teacher> findAllByLanguagesContainingAndDeletedFalse(Language language);
+    /**
+     * Method returns the teachers knowing the language from {@link TeacherLanguageIndex}, without querying the database
+     *
+     * @return active teachers ordered by id
+     */
+    List<TeacherDto> findAllByLanguagesContainingAndDeletedFalse(Language language);
 
     void deleteById(int id);
 
     Teacher findById(int id);
 
+    /**
+     * Method reads the teacher directly into a {@link TeacherDto}, without loading the entity
+     */
+    TeacherDto findDtoById(int id);
+
     Teacher update(int id, Teacher teacher);
 
     Teacher updateLanguages(UpdateTeacherLanguageCommand command, int id);
+
+    /**
+     * Method computes the free intervals of the teacher between the given terms, omitting the ones shorter
+     * than the requested duration
+     *
+     * @return free intervals ordered by their start
+     */
+    List<FreeSlotDto> findAvailability(int id, LocalDateTime from, LocalDateTime to, int duration);
+
+    /**
+     * Method returns teachers knowing the language that have no lesson in the slots touched by the given interval
+     *
+     * @return available teachers ordered by id
+     */
+    List<TeacherDto> findAllAvailable(Language language, LocalDateTime at, int duration);
 }
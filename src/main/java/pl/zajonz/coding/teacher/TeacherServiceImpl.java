@@ -1,39 +1,86 @@
 package pl.zajonz.coding.teacher;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.zajonz.coding.common.AfterCommit;
+import pl.zajonz.coding.common.Cursor;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.MetricsConfiguration;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
+import pl.zajonz.coding.common.exception.InvalidDateException;
+import pl.zajonz.coding.lesson.LessonSchedule;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
 import pl.zajonz.coding.teacher.model.Teacher;
 import pl.zajonz.coding.teacher.model.command.UpdateTeacherLanguageCommand;
+import pl.zajonz.coding.teacher.model.dto.FreeSlotDto;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 @Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class TeacherServiceImpl implements TeacherService {
 
+    static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(31);
+
     private final TeacherRepository teacherRepository;
 
+    private final LessonSchedule lessonSchedule;
+
+    private final TeacherLanguageIndex teacherLanguageIndex;
+
+    private final TeacherLanguageResponseCache teacherLanguageResponseCache;
+
+    private final ResourceVersions resourceVersions;
+
     @Override
     public List<Teacher> findAllByDeletedFalse() {
         return teacherRepository.findAllByDeletedFalse();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<TeacherDto> findAllByDeletedFalse(int afterId, int limit) {
+        Cursor.checkLimit(limit);
+        return teacherRepository.findAllDtosByDeletedFalseAndIdGreaterThan(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
     public Teacher save(Teacher teacher){
-        return teacherRepository.save(teacher);
+        Teacher saved = teacherRepository.save(teacher);
+        resourceVersions.bump(Resource.TEACHER, saved.getId());
+        AfterCommit.run(() -> refreshCaches(saved));
+        return saved;
     }
 
     @Override
-    public List<Teacher> findAllByLanguagesContainingAndDeletedFalse(Language language) {
-        return teacherRepository.findAllByLanguagesContainingAndDeletedFalse(language);
+    public List<TeacherDto> findAllByLanguagesContainingAndDeletedFalse(Language language) {
+        return teacherLanguageIndex.findTeachers(teacherLanguageIndex.findTeacherIds(language));
     }
 
     @Override
+    @Transactional
     public void deleteById(int id){
         teacherRepository.deleteById(id);
+        resourceVersions.bump(Resource.TEACHER, id);
+        AfterCommit.run(() -> {
+            teacherLanguageIndex.remove(id);
+            teacherLanguageResponseCache.invalidate();
+        });
     }
 
     @Override
@@ -44,18 +91,90 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public TeacherDto findDtoById(int id) {
+        return teacherRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException(MessageFormat
+                        .format("Teacher with id={0} has not been found", id)));
+    }
+
+    @Override
+    @Transactional
     public Teacher update(int id, Teacher teacher) {
         Teacher teacherToUpdate = findById(id);
         teacherToUpdate.setFirstName(teacher.getFirstName());
         teacherToUpdate.setLastName(teacher.getLastName());
         teacherToUpdate.setLanguages(teacher.getLanguages());
-        return teacherRepository.save(teacherToUpdate);
+        Teacher saved = teacherRepository.save(teacherToUpdate);
+        resourceVersions.bump(Resource.TEACHER, saved.getId());
+        AfterCommit.run(() -> refreshCaches(saved));
+        return saved;
     }
 
     @Override
+    @Transactional
     public Teacher updateLanguages(UpdateTeacherLanguageCommand command, int id) {
         Teacher teacher = findById(id);
         teacher.setLanguages(command.getLanguages());
-        return teacherRepository.save(teacher);
+        Teacher saved = teacherRepository.save(teacher);
+        resourceVersions.bump(Resource.TEACHER, saved.getId());
+        AfterCommit.run(() -> refreshCaches(saved));
+        return saved;
+    }
+
+    @Override
+    public List<FreeSlotDto> findAvailability(int id, LocalDateTime from, LocalDateTime to, int duration) {
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new IllegalArgumentException("Range has to be positive and not longer than "
+                    + MAX_AVAILABILITY_RANGE.toDays() + " days");
+        }
+        if (duration < 1) {
+            throw new IllegalArgumentException("Duration has to be positive");
+        }
+        if (!teacherRepository.existsById(id)) {
+            throw new EntityNotFoundException(MessageFormat.format("Teacher with id={0} has not been found", id));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime freeFrom = LessonSlot.nextSlotOf(from.isBefore(now) ? now : from);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        for (LessonTerm busy : lessonSchedule.findBetween(id, freeFrom, to)) {
+            addFreeSlot(slots, freeFrom, busy.getStart(), duration);
+            if (busy.getEnd().isAfter(freeFrom)) {
+                freeFrom = LessonSlot.nextSlotOf(busy.getEnd());
+            }
+        }
+        addFreeSlot(slots, freeFrom, to, duration);
+        return slots;
+    }
+
+    @Override
+    public List<TeacherDto> findAllAvailable(Language language, LocalDateTime at, int duration) {
+        if (at.isBefore(LocalDateTime.now())) {
+            throw new InvalidDateException("Invalid date " + at);
+        }
+        if (!LessonSlot.isAligned(at)) {
+            throw new IllegalArgumentException("Term has to start at a multiple of " + LessonSlot.SLOT_MINUTES
+                    + " minutes");
+        }
+        if (duration < 1 || duration > Lesson.MAX_DURATION) {
+            throw new IllegalArgumentException("Duration has to be between 1 and " + Lesson.MAX_DURATION + " minutes");
+        }
+        BitSet available = teacherLanguageIndex.findTeacherIds(language);
+        available.andNot(lessonSchedule.findBusyTeachers(at, at.plusMinutes(duration)));
+        return teacherLanguageIndex.findTeachers(available);
+    }
+
+    private void refreshCaches(Teacher saved) {
+        teacherLanguageIndex.put(TeacherDto.fromEntity(saved));
+        teacherLanguageResponseCache.invalidate();
+    }
+
+    private static void addFreeSlot(List<FreeSlotDto> slots, LocalDateTime from, LocalDateTime to, int duration) {
+        if (!from.plusMinutes(duration).isAfter(to)) {
+            slots.add(FreeSlotDto.builder()
+                    .from(from)
+                    .to(to)
+                    .build());
+        }
     }
 }
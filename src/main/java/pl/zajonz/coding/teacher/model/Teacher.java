@@ -4,8 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Cascade;
 import org.hibernate.annotations.CascadeType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.SQLDelete;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.LanguageSetConverter;
+import pl.zajonz.coding.common.PooledIdGenerator;
 import pl.zajonz.coding.lesson.model.Lesson;
 import pl.zajonz.coding.student.model.Student;
 
@@ -17,11 +22,14 @@ import java.util.Set;
 @Setter
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SQLDelete(sql = "UPDATE teacher SET deleted = true WHERE id=?")
 public class Teacher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "teacher_id")
+    @GenericGenerator(name = "teacher_id", strategy = PooledIdGenerator.STRATEGY)
     private int id;
 
     private String firstName;
@@ -29,10 +37,8 @@ public class Teacher {
 
     private boolean deleted = Boolean.FALSE;
 
-    @Enumerated(EnumType.STRING)
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "teacher_language", joinColumns = @JoinColumn(name = "teacher_id"))
-    @Column(name = "language")
+    @Convert(converter = LanguageSetConverter.class)
+    @Column(nullable = false)
     private Set<Language> languages;
 
     @OneToMany(mappedBy = "teacher")
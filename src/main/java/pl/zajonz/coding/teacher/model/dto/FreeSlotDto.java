@@ -0,0 +1,15 @@
+package pl.zajonz.coding.teacher.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class FreeSlotDto {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+}
@@ -1,6 +1,8 @@
 package pl.zajonz.coding.teacher.model.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import pl.zajonz.coding.common.Language;
 import pl.zajonz.coding.teacher.model.Teacher;
@@ -9,6 +11,8 @@ import java.util.Set;
 
 @Getter
 @Builder
+@AllArgsConstructor
+@EqualsAndHashCode
 public class TeacherDto {
 
     private int id;
@@ -0,0 +1,42 @@
+-- Schema as it was before the migrations were introduced, databases created earlier are baselined at this version.
+
+CREATE TABLE teacher
+(
+    id         INT     NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    deleted    BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE teacher_language
+(
+    teacher_id INT          NOT NULL,
+    language   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (teacher_id, language),
+    CONSTRAINT fk_teacher_language_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id)
+);
+
+CREATE TABLE student
+(
+    id         INT     NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    language   VARCHAR(255),
+    teacher_id INT,
+    deleted    BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_student_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id)
+);
+
+CREATE TABLE lesson
+(
+    id         INT     NOT NULL AUTO_INCREMENT,
+    student_id INT,
+    teacher_id INT,
+    term       DATETIME(6),
+    deleted    BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lesson_student FOREIGN KEY (student_id) REFERENCES student (id),
+    CONSTRAINT fk_lesson_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id)
+);
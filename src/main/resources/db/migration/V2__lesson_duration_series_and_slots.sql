@@ -0,0 +1,44 @@
+CREATE TABLE lesson_series
+(
+    id          INT     NOT NULL AUTO_INCREMENT,
+    student_id  INT,
+    teacher_id  INT,
+    first_term  DATETIME(6),
+    recurrence  VARCHAR(255),
+    occurrences INT,
+    end_date    DATE,
+    duration    INT     NOT NULL,
+    deleted     BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lesson_series_student FOREIGN KEY (student_id) REFERENCES student (id),
+    CONSTRAINT fk_lesson_series_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id)
+);
+
+ALTER TABLE lesson ADD COLUMN duration INT NOT NULL DEFAULT 60;
+ALTER TABLE lesson ADD COLUMN series_id INT;
+ALTER TABLE lesson ADD CONSTRAINT fk_lesson_series FOREIGN KEY (series_id) REFERENCES lesson_series (id);
+
+CREATE TABLE lesson_slot
+(
+    teacher_id INT         NOT NULL,
+    slot       DATETIME(6) NOT NULL,
+    lesson_id  INT         NOT NULL,
+    PRIMARY KEY (teacher_id, slot)
+);
+
+CREATE INDEX idx_lesson_slot_lesson ON lesson_slot (lesson_id);
+
+-- Reserves the 15-minute slots touched by the existing lessons, all of them last 60 minutes at this point.
+-- Lessons overlapping an earlier one of the same teacher cannot get the slot, the first reservation is kept.
+INSERT IGNORE INTO lesson_slot (teacher_id, slot, lesson_id)
+SELECT s.teacher_id, s.slot, s.lesson_id
+FROM (SELECT l.teacher_id AS teacher_id,
+             l.id         AS lesson_id,
+             l.term       AS term,
+             TIMESTAMPADD(MINUTE, 15 * n.n,
+                          TIMESTAMPADD(SECOND, -(MINUTE(l.term) % 15 * 60 + SECOND(l.term)), l.term)) AS slot
+      FROM lesson l
+               CROSS JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4) n
+      WHERE l.deleted = FALSE) s
+WHERE s.slot < TIMESTAMPADD(MINUTE, 60, s.term)
+ORDER BY s.lesson_id, s.slot;
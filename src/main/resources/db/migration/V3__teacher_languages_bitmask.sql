@@ -0,0 +1,19 @@
+-- Bit n of teacher.languages is set when the teacher knows the language with ordinal n of
+-- pl.zajonz.coding.common.Language.
+
+ALTER TABLE teacher ADD COLUMN languages INT NOT NULL DEFAULT 0;
+
+UPDATE teacher t
+SET languages = (SELECT COALESCE(SUM(CASE tl.language
+                                         WHEN 'JAVA' THEN 1
+                                         WHEN 'PYTHON' THEN 2
+                                         WHEN 'C' THEN 4
+                                         WHEN 'CPP' THEN 8
+                                         WHEN 'KOBOL' THEN 16
+                                         WHEN 'JS' THEN 32
+                                         WHEN 'JS_NODE' THEN 64
+                                         ELSE 0 END), 0)
+                 FROM teacher_language tl
+                 WHERE tl.teacher_id = t.id);
+
+DROP TABLE teacher_language;
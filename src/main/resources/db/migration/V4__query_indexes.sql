@@ -0,0 +1,17 @@
+-- Teacher and student pages: deleted = false and id > ? order by id.
+-- The teacher index also covers the language index load, which selects id and languages.
+CREATE INDEX idx_teacher_deleted_id ON teacher (deleted, id, languages);
+CREATE INDEX idx_student_deleted_id ON student (deleted, id);
+
+-- Students of a teacher: teacher_id = ? and deleted = false.
+CREATE INDEX idx_student_teacher_deleted ON student (teacher_id, deleted);
+
+-- Lesson pages: deleted = false and (term, id) > (?, ?) order by term, id.
+-- It also covers the schedule load, which selects id, teacher_id, term and duration of lessons after a term.
+CREATE INDEX idx_lesson_deleted_term_id ON lesson (deleted, term, id, teacher_id, duration);
+
+-- Lessons of a teacher in a range of terms.
+CREATE INDEX idx_lesson_teacher_term ON lesson (teacher_id, term);
+
+-- Future lessons of a series: series_id = ? and deleted = false and term > ?.
+CREATE INDEX idx_lesson_series_deleted_term ON lesson (series_id, deleted, term);
@@ -0,0 +1,57 @@
+-- Rows moved out of the live tables by pl.zajonz.coding.archival.ArchivalJob, with the time they were moved.
+-- The tables have no foreign keys, so the referenced rows may be archived independently.
+-- Ids are not reused, as InnoDB persists the auto increment counters since MySQL 8.0.
+
+CREATE TABLE lesson_archive
+(
+    id          INT         NOT NULL,
+    student_id  INT,
+    teacher_id  INT,
+    series_id   INT,
+    term        DATETIME(6),
+    duration    INT         NOT NULL,
+    deleted     BOOLEAN     NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_lesson_archive_teacher_term ON lesson_archive (teacher_id, term);
+CREATE INDEX idx_lesson_archive_student_term ON lesson_archive (student_id, term);
+
+CREATE TABLE lesson_series_archive
+(
+    id          INT         NOT NULL,
+    student_id  INT,
+    teacher_id  INT,
+    first_term  DATETIME(6),
+    recurrence  VARCHAR(255),
+    occurrences INT,
+    end_date    DATE,
+    duration    INT         NOT NULL,
+    deleted     BOOLEAN     NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE student_archive
+(
+    id          INT         NOT NULL,
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    language    VARCHAR(255),
+    teacher_id  INT,
+    deleted     BOOLEAN     NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE teacher_archive
+(
+    id          INT         NOT NULL,
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    languages   INT         NOT NULL,
+    deleted     BOOLEAN     NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
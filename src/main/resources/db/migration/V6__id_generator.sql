@@ -0,0 +1,20 @@
+-- Ids allocated in blocks by pl.zajonz.coding.common.PooledIdGenerator, next_val is the first id not handed out yet.
+-- It starts above the highest id of both the live and the archive table, so existing and archived ids are never
+-- reused. The auto increment of the id columns is kept but no longer used.
+
+CREATE TABLE id_generator
+(
+    name     VARCHAR(255) NOT NULL,
+    next_val BIGINT       NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_generator (name, next_val)
+VALUES ('teacher', GREATEST(COALESCE((SELECT MAX(id) FROM teacher), 0),
+                            COALESCE((SELECT MAX(id) FROM teacher_archive), 0)) + 1),
+       ('student', GREATEST(COALESCE((SELECT MAX(id) FROM student), 0),
+                            COALESCE((SELECT MAX(id) FROM student_archive), 0)) + 1),
+       ('lesson', GREATEST(COALESCE((SELECT MAX(id) FROM lesson), 0),
+                           COALESCE((SELECT MAX(id) FROM lesson_archive), 0)) + 1),
+       ('lesson_series', GREATEST(COALESCE((SELECT MAX(id) FROM lesson_series), 0),
+                                  COALESCE((SELECT MAX(id) FROM lesson_series_archive), 0)) + 1);
@@ -0,0 +1,87 @@
+package pl.zajonz.coding;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MigrationTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration_" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway("1").migrate();
+        jdbcTemplate.update("INSERT INTO teacher (id, first_name) VALUES (1, 'Teacher')");
+        jdbcTemplate.update("INSERT INTO teacher_language (teacher_id, language) VALUES (1, 'JAVA'), (1, 'KOBOL')");
+        jdbcTemplate.update("INSERT INTO student (id, first_name, teacher_id) VALUES (1, 'Student', 1)");
+        jdbcTemplate.update("INSERT INTO lesson (id, student_id, teacher_id, term) VALUES (1, 1, 1, ?), (2, 1, 1, ?)",
+                Timestamp.valueOf(TERM), Timestamp.valueOf(TERM.plusHours(2).plusMinutes(10)));
+        jdbcTemplate.update("INSERT INTO lesson (id, student_id, teacher_id, term, deleted) VALUES (3, 1, 1, ?, TRUE)",
+                Timestamp.valueOf(TERM.plusDays(1)));
+    }
+
+    @Test
+    void testMigrate_ResultsInSlotsOfExistingLessonsBeingReserved() {
+        //when
+        flyway("latest").migrate();
+        //then
+        List<LocalDateTime> firstLesson = findSlots(1);
+        List<LocalDateTime> secondLesson = findSlots(2);
+        assertEquals(List.of(TERM, TERM.plusMinutes(15), TERM.plusMinutes(30), TERM.plusMinutes(45)), firstLesson);
+        assertEquals(5, secondLesson.size());
+        assertEquals(TERM.plusHours(2), secondLesson.get(0));
+        assertEquals(List.of(), findSlots(3));
+    }
+
+    @Test
+    void testMigrate_ResultsInLanguagesBeingConvertedToBitmask() {
+        //when
+        flyway("latest").migrate();
+        //then
+        assertEquals(0b10001, jdbcTemplate.queryForObject("SELECT languages FROM teacher WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void testMigrate_ResultsInIdGeneratorStartingAfterExistingIds() {
+        //given
+        flyway("5").migrate();
+        jdbcTemplate.update("INSERT INTO lesson_archive (id, duration, deleted, archived_at) VALUES (7, 60, TRUE, ?)",
+                Timestamp.valueOf(TERM));
+        //when
+        flyway("latest").migrate();
+        //then
+        assertEquals(List.of("lesson=8", "lesson_series=1", "student=2", "teacher=2"),
+                jdbcTemplate.queryForList("SELECT CONCAT(name, '=', next_val) FROM id_generator ORDER BY name",
+                        String.class));
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .target(target)
+                .load();
+    }
+
+    private List<LocalDateTime> findSlots(int lessonId) {
+        return jdbcTemplate.queryForList("SELECT slot FROM lesson_slot WHERE lesson_id = ? ORDER BY slot",
+                        Timestamp.class, lessonId).stream()
+                .map(Timestamp::toLocalDateTime)
+                .toList();
+    }
+}
@@ -0,0 +1,107 @@
+package pl.zajonz.coding.archival;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.zajonz.coding.archival.model.ArchivalResult;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.lesson.LessonSchedule;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "coding.archival.batch-size=2")
+@Import({ArchivalJob.class, ResourceVersions.class})
+class ArchivalJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private ArchivalJob archivalJob;
+    @Autowired
+    private ArchivalProperties archivalProperties;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private LessonSchedule lessonSchedule;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO teacher (id, first_name, languages, deleted) VALUES (1, 'Active', 1, FALSE)");
+        jdbcTemplate.update("INSERT INTO teacher (id, first_name, languages, deleted) VALUES (2, 'Deleted', 1, TRUE)");
+        jdbcTemplate.update("INSERT INTO student (id, first_name, teacher_id, deleted) VALUES (1, 'Active', 1, FALSE)");
+    }
+
+    @Test
+    void testArchive_ResultsInDeletedAndOldLessonsBeingMoved() {
+        //given
+        insertLesson(1, NOW.plusDays(1), false);
+        insertLesson(2, NOW.plusDays(1), true);
+        insertLesson(3, NOW.minus(archivalProperties.getLessonAge()).minusDays(1), false);
+        insertLesson(4, NOW.minus(archivalProperties.getLessonAge()).plusDays(1), false);
+        jdbcTemplate.update("INSERT INTO lesson_slot (teacher_id, slot, lesson_id) VALUES (1, ?, 3)",
+                Timestamp.valueOf(NOW.minus(archivalProperties.getLessonAge()).minusDays(1)));
+        //when
+        List<ArchivalResult> returned = archivalJob.archive();
+        //then
+        assertEquals(2, returned.get(0).getRows());
+        assertEquals(List.of(1, 4), jdbcTemplate.queryForList("SELECT id FROM lesson ORDER BY id", Integer.class));
+        assertEquals(List.of(2, 3),
+                jdbcTemplate.queryForList("SELECT id FROM lesson_archive ORDER BY id", Integer.class));
+        assertEquals(0, count("lesson_slot"));
+    }
+
+    @Test
+    void testArchive_DeletedRowsStillReferenced_ResultsInRowsBeingKept() {
+        //given
+        jdbcTemplate.update("INSERT INTO student (id, first_name, teacher_id, deleted) VALUES (2, 'Referenced', 2, TRUE)");
+        jdbcTemplate.update("INSERT INTO student (id, first_name, teacher_id, deleted) VALUES (3, 'Deleted', 1, TRUE)");
+        insertLesson(1, NOW.plusDays(1), false);
+        jdbcTemplate.update("UPDATE lesson SET student_id = 2 WHERE id = 1");
+        //when
+        archivalJob.archive();
+        //then
+        assertEquals(List.of(1, 2), jdbcTemplate.queryForList("SELECT id FROM student ORDER BY id", Integer.class));
+        assertEquals(List.of(3), jdbcTemplate.queryForList("SELECT id FROM student_archive", Integer.class));
+        assertEquals(2, count("teacher"));
+    }
+
+    @Test
+    void testArchive_UnreferencedDeletedTeacher_ResultsInTeacherBeingMoved() {
+        //when
+        archivalJob.archive();
+        //then
+        assertEquals(List.of(1), jdbcTemplate.queryForList("SELECT id FROM teacher", Integer.class));
+        assertEquals(List.of(2), jdbcTemplate.queryForList("SELECT id FROM teacher_archive", Integer.class));
+    }
+
+    @Test
+    void testArchive_MoreRowsThanBatchSize_ResultsInAllRowsBeingMoved() {
+        //given
+        for (int id = 1; id <= 5; id++) {
+            insertLesson(id, NOW.plusDays(1), true);
+        }
+        //when
+        List<ArchivalResult> returned = archivalJob.archive();
+        //then
+        assertEquals(5, returned.get(0).getRows());
+        assertEquals(0, count("lesson"));
+        assertEquals(5, count("lesson_archive"));
+    }
+
+    private void insertLesson(int id, LocalDateTime term, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO lesson (id, student_id, teacher_id, term, duration, deleted) "
+                + "VALUES (?, 1, 1, ?, 60, ?)", id, Timestamp.valueOf(term), deleted);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
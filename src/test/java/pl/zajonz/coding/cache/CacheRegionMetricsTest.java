@@ -0,0 +1,73 @@
+package pl.zajonz.coding.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.TeacherRepository;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+class CacheRegionMetricsTest {
+
+    private static final String TEACHER_REGION = Teacher.class.getName();
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private int teacherId;
+
+    @BeforeEach
+    void setUp() {
+        teacherId = teacherRepository.save(Teacher.builder()
+                .firstName("Test")
+                .languages(Set.of(Language.JAVA))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        teacherRepository.deleteAllByIdInBatch(List.of(teacherId));
+    }
+
+    @Test
+    void testFindById_CachedTeacher_ResultsInHitBeingPublished() {
+        //given
+        teacherRepository.findById(teacherId);
+        double hits = gets("hit");
+        //when
+        teacherRepository.findById(teacherId);
+        teacherRepository.findById(teacherId);
+        //then
+        assertEquals(hits + 2, gets("hit"));
+    }
+
+    @Test
+    void testBindTo_ResultsInMetersOfEveryRegion() {
+        //given
+        //when
+        //then
+        assertFalse(meterRegistry.find("cache.gets").tag("cache", TEACHER_REGION).meters().isEmpty());
+        assertFalse(meterRegistry.find("cache.gets").tag("cache", "pl.zajonz.coding.student.model.Student")
+                .meters().isEmpty());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", TEACHER_REGION)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
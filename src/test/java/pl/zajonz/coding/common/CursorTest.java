@@ -0,0 +1,48 @@
+package pl.zajonz.coding.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorTest {
+
+    @Test
+    void testDecode_EncodedKey_ResultsInSameKeyBeingReturned() {
+        //given
+        LocalDateTime term = LocalDateTime.of(2030, 1, 7, 10, 0);
+        String cursor = Cursor.encode(term, 15);
+
+        //when
+        List<String> returned = Cursor.decode(cursor, 2);
+
+        //then
+        assertEquals(List.of(term.toString(), "15"), returned);
+        assertFalse(cursor.contains("|"));
+    }
+
+    @Test
+    void testDecode_WrongNumberOfKeys_ResultsInIllegalArgumentException() {
+        //given
+        String cursor = Cursor.encode(15);
+
+        //when //then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Cursor.decode(cursor, 2));
+        assertEquals("Invalid cursor " + cursor, exception.getMessage());
+    }
+
+    @Test
+    void testDecodeId_NoCursor_ResultsInZeroBeingReturned() {
+        assertEquals(0, Cursor.decodeId(null));
+    }
+
+    @Test
+    void testCheckLimit_LimitTooBig_ResultsInIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.checkLimit(Cursor.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,44 @@
+package pl.zajonz.coding.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LanguageSetConverterTest {
+
+    private final LanguageSetConverter converter = new LanguageSetConverter();
+
+    @Test
+    void testConvertToDatabaseColumn_ResultsInOrdinalBitsBeingSet() {
+        //when
+        Integer returned = converter.convertToDatabaseColumn(Set.of(Language.JAVA, Language.C, Language.JS_NODE));
+        //then
+        assertEquals(0b1000101, returned);
+    }
+
+    @Test
+    void testConvertToDatabaseColumn_NullSet_ResultsInZeroBeingReturned() {
+        //when //then
+        assertEquals(0, converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void testConvertToEntityAttribute_ResultsInMutableSetBeingReturned() {
+        //when
+        Set<Language> returned = converter.convertToEntityAttribute(0b1000101);
+        returned.add(Language.CPP);
+        //then
+        assertEquals(EnumSet.of(Language.JAVA, Language.C, Language.CPP, Language.JS_NODE), returned);
+    }
+
+    @Test
+    void testConvertToEntityAttribute_AllLanguages_ResultsInSameMaskAfterRoundTrip() {
+        //given
+        Set<Language> all = EnumSet.allOf(Language.class);
+        //when //then
+        assertEquals(all, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(all)));
+    }
+}
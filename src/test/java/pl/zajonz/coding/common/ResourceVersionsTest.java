@@ -0,0 +1,64 @@
+package pl.zajonz.coding.common;
+
+import org.junit.jupiter.api.Test;
+import pl.zajonz.coding.common.ResourceVersions.Resource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ResourceVersionsTest {
+
+    private final ResourceVersions resourceVersions = new ResourceVersions();
+
+    @Test
+    void testBump_ResultsInCollectionAndEntityTagsBeingChanged() {
+        //given
+        String collection = resourceVersions.collectionTag(Resource.TEACHER);
+        String entity = resourceVersions.entityTag(Resource.TEACHER, 1);
+        //when
+        resourceVersions.bump(Resource.TEACHER, 1);
+        //then
+        assertNotEquals(collection, resourceVersions.collectionTag(Resource.TEACHER));
+        assertNotEquals(entity, resourceVersions.entityTag(Resource.TEACHER, 1));
+    }
+
+    @Test
+    void testBump_OtherEntityOrCollection_ResultsInTagsBeingKept() {
+        //given
+        String entity = resourceVersions.entityTag(Resource.LESSON, 1);
+        String students = resourceVersions.collectionTag(Resource.STUDENT);
+        //when
+        resourceVersions.bump(Resource.LESSON, List.of(2, 3));
+        //then
+        assertEquals(entity, resourceVersions.entityTag(Resource.LESSON, 1));
+        assertEquals(students, resourceVersions.collectionTag(Resource.STUDENT));
+    }
+
+    @Test
+    void testBump_Dependency_ResultsInDependentTagsBeingChanged() {
+        //given
+        resourceVersions.bump(Resource.LESSON, 1);
+        String lesson = resourceVersions.entityTag(Resource.LESSON, 1, Resource.TEACHER);
+        String lessons = resourceVersions.collectionTag(Resource.LESSON, Resource.TEACHER);
+        //when
+        resourceVersions.bump(Resource.TEACHER, 5);
+        //then
+        assertNotEquals(lesson, resourceVersions.entityTag(Resource.LESSON, 1, Resource.TEACHER));
+        assertNotEquals(lessons, resourceVersions.collectionTag(Resource.LESSON, Resource.TEACHER));
+    }
+
+    @Test
+    void testBump_OtherEntityInSameSlot_ResultsInTagBeingChanged() {
+        //given
+        int sameSlot = 1 + ResourceVersions.ENTITY_SLOTS;
+        String entity = resourceVersions.entityTag(Resource.LESSON, 1);
+        String otherSlot = resourceVersions.entityTag(Resource.LESSON, 2);
+        //when
+        resourceVersions.bump(Resource.LESSON, sameSlot);
+        //then
+        assertNotEquals(entity, resourceVersions.entityTag(Resource.LESSON, 1));
+        assertEquals(otherSlot, resourceVersions.entityTag(Resource.LESSON, 2));
+    }
+}
@@ -0,0 +1,87 @@
+package pl.zajonz.coding.common.datasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two embedded databases standing in for the primary and the replica. Both get the
+ * same schema, and the teacher 701 differs between them, so the responses show which one was read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaDataSourceConfigurationTest.PRIMARY_URL,
+        "coding.replica.datasource.jdbc-url=" + ReplicaDataSourceConfigurationTest.REPLICA_URL,
+        "coding.replica.datasource.driver-class-name=org.h2.Driver",
+        "coding.replica.datasource.username=sa",
+        "coding.replica.datasource.password=",
+        "coding.replica.staleness=PT1M"})
+@ActiveProfiles("replica")
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaDataSourceConfigurationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    static {
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).load().migrate();
+        new JdbcTemplate(replica).update(
+                "INSERT INTO teacher (id, first_name, languages, deleted) VALUES (701, 'Replica', 1, FALSE)");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Order(1)
+    void testFindById_NoRecentWrite_ResultsInTeacherBeingReadFromReplica() throws Exception {
+        //given
+        jdbcTemplate.update(
+                "INSERT INTO teacher (id, first_name, languages, deleted) VALUES (701, 'Primary', 1, FALSE)");
+        //when //then
+        mockMvc.perform(get("/api/v1/teachers/701"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Replica"));
+    }
+
+    @Test
+    @Order(2)
+    void testFindById_AfterWrite_ResultsInTeacherBeingReadFromPrimary() throws Exception {
+        //given
+        String created = mockMvc.perform(post("/api/v1/teachers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Fresh\",\"lastName\":\"Teacher\",\"languages\":[\"JAVA\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode teacher = objectMapper.readTree(created);
+        //when //then
+        mockMvc.perform(get("/api/v1/teachers/" + teacher.get("id").asInt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Fresh"));
+        mockMvc.perform(get("/api/v1/teachers/701"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Primary"));
+    }
+}
@@ -0,0 +1,107 @@
+package pl.zajonz.coding.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final EmbeddedDatabase primary = database("primary");
+    private final EmbeddedDatabase replica = database("replica");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void testReadOnlyTransaction_ResultsInReplicaBeingUsed() {
+        //given
+        DataSource dataSource = routing(Duration.ZERO);
+        //when
+        String returned = origin(dataSource, true);
+        //then
+        assertEquals("replica", returned);
+        assertEquals(1, meterRegistry.get("coding.datasource.routes").tag("pool", "replica").counter().count());
+    }
+
+    @Test
+    void testReadWriteTransaction_ResultsInPrimaryBeingUsed() {
+        //given
+        DataSource dataSource = routing(Duration.ZERO);
+        //when
+        String returned = origin(dataSource, false);
+        //then
+        assertEquals("primary", returned);
+    }
+
+    @Test
+    void testReadOnlyTransaction_WithinStalenessOfWrite_ResultsInPrimaryBeingUsed() {
+        //given
+        DataSource dataSource = routing(Duration.ofMinutes(1));
+        origin(dataSource, true);
+        write(dataSource);
+        //when
+        String returned = origin(dataSource, true);
+        //then
+        assertEquals("primary", returned);
+        assertEquals(1, meterRegistry.get("coding.datasource.routes").tag("route", "stale").counter().count());
+    }
+
+    @Test
+    void testReadOnlyTransaction_AfterRolledBackWrite_ResultsInReplicaBeingUsed() {
+        //given
+        DataSource dataSource = routing(Duration.ofMinutes(1));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.executeWithoutResult(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE origin SET name = 'changed'");
+            status.setRollbackOnly();
+        });
+        //when
+        String returned = origin(dataSource, true);
+        //then
+        assertEquals("replica", returned);
+    }
+
+    private DataSource routing(Duration staleness) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, staleness,
+                meterRegistry));
+    }
+
+    private static String origin(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static void write(DataSource dataSource) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status ->
+                new JdbcTemplate(dataSource).update("UPDATE origin SET name = name"));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "_" + System.nanoTime())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,230 @@
+package pl.zajonz.coding.common.statement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import pl.zajonz.coding.lesson.LessonSchedule;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
+import pl.zajonz.coding.teacher.TeacherLanguageIndex;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class StatementBudgetTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.now().plusDays(1).withNano(0);
+    private static final LocalDateTime FREE_TERM = LessonSlot.nextSlotOf(TERM.plusDays(2).withSecond(0));
+    private static final DateTimeFormatter PARAM_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TeacherLanguageIndex teacherLanguageIndex;
+    @Autowired
+    private LessonSchedule lessonSchedule;
+
+    @BeforeEach
+    void setUp() {
+        for (int id = 901; id <= 903; id++) {
+            jdbcTemplate.update("INSERT INTO teacher (id, first_name, languages, deleted) "
+                    + "VALUES (?, 'Teacher', 1, FALSE)", id);
+            jdbcTemplate.update("INSERT INTO student (id, first_name, teacher_id, deleted) "
+                    + "VALUES (?, 'Student', ?, FALSE)", id, id);
+            jdbcTemplate.update("INSERT INTO lesson (id, student_id, teacher_id, term, duration, deleted) "
+                    + "VALUES (?, ?, ?, ?, 60, FALSE)", id, id, id, Timestamp.valueOf(TERM));
+            lessonSchedule.put(new LessonTerm(id, id, TERM, 60));
+        }
+        teacherLanguageIndex.reconcile();
+    }
+
+    @AfterTransaction
+    void tearDown() {
+        for (int id = 901; id <= 903; id++) {
+            lessonSchedule.remove(id);
+        }
+        teacherLanguageIndex.reconcile();
+    }
+
+    @Test
+    void testFindAllLessons_ResultsInSingleStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/lessons"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[2].student.id").exists())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindLessonById_ResultsInSingleStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/lessons/901"))
+                .andExpect(status().isOk())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindAllTeachers_ResultsInSingleStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/teachers"))
+                .andExpect(status().isOk())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindTeacherById_ResultsInSingleStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/teachers/901"))
+                .andExpect(status().isOk())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindAllStudents_ResultsInSingleStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/students"))
+                .andExpect(status().isOk())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindStudentById_ResultsInSingleStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/students/901"))
+                .andExpect(status().isOk())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindLessonById_NotExistingLesson_ResultsInHeaderOnErrorResponse() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/lessons/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testCreateLesson_ResultsInSelectsOfTeacherAndStudentAndBatchedInserts() throws Exception {
+        //given
+        String command = lessonJson(901, FREE_TERM);
+
+        //when
+        //then
+        mockMvc.perform(post("/api/v1/lessons").contentType(MediaType.APPLICATION_JSON).content(command))
+                .andExpect(status().isCreated())
+                .andExpect(StatementCount.atMost(4));
+    }
+
+    @Test
+    void testCreateLessonBatch_ResultsInStatementCountIndependentOfBatchSize() throws Exception {
+        //given
+        String commands = "[" + lessonJson(901, FREE_TERM) + "," + lessonJson(902, FREE_TERM) + ","
+                + lessonJson(903, FREE_TERM) + "]";
+
+        //when
+        //then
+        mockMvc.perform(post("/api/v1/lessons/batch").contentType(MediaType.APPLICATION_JSON).content(commands))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[2].created").value(true))
+                .andExpect(StatementCount.atMost(4));
+    }
+
+    @Test
+    void testCreateLessonSeries_ResultsInStatementCountIndependentOfOccurrences() throws Exception {
+        //given
+        String command = "{\"studentId\":901,\"teacherId\":901,\"firstTerm\":\"" + FREE_TERM
+                + "\",\"duration\":60,\"recurrence\":\"WEEKLY\",\"occurrences\":4}";
+
+        //when
+        //then
+        mockMvc.perform(post("/api/v1/lessons/series").contentType(MediaType.APPLICATION_JSON).content(command))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[3].seriesId").exists())
+                .andExpect(StatementCount.atMost(5));
+    }
+
+    @Test
+    void testShiftLessonSeries_ResultsInStatementCountIndependentOfOccurrences() throws Exception {
+        //given
+        jdbcTemplate.update("INSERT INTO lesson_series (id, student_id, teacher_id, first_term, recurrence, "
+                + "occurrences, duration, deleted) VALUES (901, 901, 901, ?, 'WEEKLY', 3, 60, FALSE)",
+                Timestamp.valueOf(FREE_TERM));
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO lesson (id, student_id, teacher_id, term, duration, series_id, deleted) "
+                    + "VALUES (?, 901, 901, ?, 60, 901, FALSE)", 911 + i, Timestamp.valueOf(FREE_TERM.plusWeeks(i)));
+        }
+
+        //when
+        //then
+        mockMvc.perform(patch("/api/v1/lessons/series/901").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minutes\":15}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$[2].id").value(913))
+                .andExpect(StatementCount.atMost(5));
+    }
+
+    @Test
+    void testFindTeacherAvailability_ResultsInSingleStatement() throws Exception {
+        //given
+        LocalDateTime from = FREE_TERM.toLocalDate().atStartOfDay();
+
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/teachers/901/availability")
+                        .param("from", from.format(PARAM_FORMAT))
+                        .param("to", from.plusDays(1).format(PARAM_FORMAT)))
+                .andExpect(status().isOk())
+                .andExpect(StatementCount.atMost(1));
+    }
+
+    @Test
+    void testFindAllAvailableTeachers_ResultsInNoStatement() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/teachers/available")
+                        .param("language", "JAVA")
+                        .param("at", FREE_TERM.format(PARAM_FORMAT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItems(901, 902, 903)))
+                .andExpect(StatementCount.atMost(0));
+    }
+
+    private static String lessonJson(int id, LocalDateTime term) {
+        return "{\"studentId\":" + id + ",\"teacherId\":" + id + ",\"term\":\"" + term + "\",\"duration\":60}";
+    }
+}
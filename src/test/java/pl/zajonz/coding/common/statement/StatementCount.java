@@ -0,0 +1,25 @@
+package pl.zajonz.coding.common.statement;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers asserting the number of SQL statements reported in the {@value StatementCountFilter#HEADER} header
+ */
+public final class StatementCount {
+
+    private StatementCount() {
+    }
+
+    public static ResultMatcher atMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(StatementCountFilter.HEADER);
+            assertNotNull(header, "Response has no " + StatementCountFilter.HEADER + " header");
+            int count = Integer.parseInt(header);
+            assertTrue(count <= max,
+                    () -> "Expected at most " + max + " SQL statements, but " + count + " were executed");
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package pl.zajonz.coding.lesson;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BusySlotsTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final BusySlots busySlots = new BusySlots();
+
+    @Test
+    void testRemoveBefore_ResultsInOnlyEndedWeeksBeingDropped() {
+        //given
+        busySlots.set(1, MONDAY, true);
+        busySlots.set(1, MONDAY.plusWeeks(1), true);
+        //when
+        busySlots.removeBefore(MONDAY.plusWeeks(1).toLocalDate());
+        //then
+        assertEquals(1, busySlots.size());
+        assertTrue(busySlots.find(MONDAY).isEmpty());
+        assertTrue(busySlots.find(MONDAY.plusWeeks(1)).get(1));
+    }
+}
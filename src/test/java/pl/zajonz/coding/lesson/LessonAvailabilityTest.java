@@ -0,0 +1,63 @@
+package pl.zajonz.coding.lesson;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.zajonz.coding.lesson.LessonMetrics.DateCheck;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LessonAvailabilityTest {
+
+    @InjectMocks
+    private LessonAvailability lessonAvailability;
+    @Mock
+    private LessonSchedule lessonSchedule;
+    @Mock
+    private LessonMetrics lessonMetrics;
+
+    @Test
+    void testIsAvailable_FreeTerm_ResultsInTrueAndFreeCheckBeingCounted() {
+        //given
+        LocalDateTime date = LocalDateTime.now().plusDays(10);
+        when(lessonSchedule.hasConflict(1, date, date.plusMinutes(60), 0)).thenReturn(false);
+        //when
+        boolean returned = lessonAvailability.isAvailable(date, 60, 1, 0);
+        //then
+        assertTrue(returned);
+        verify(lessonMetrics).dateChecked(DateCheck.FREE);
+    }
+
+    @Test
+    void testIsAvailable_DateInPast_ResultsInFalseWithoutScheduleLookup() {
+        //given
+        LocalDateTime date = LocalDateTime.now().minusDays(10);
+        //when
+        boolean returned = lessonAvailability.isAvailable(date, 60, 1, 0);
+        //then
+        assertFalse(returned);
+        verify(lessonMetrics).dateChecked(DateCheck.PAST);
+        verifyNoInteractions(lessonSchedule);
+    }
+
+    @Test
+    void testIsAvailable_DateOccupied_ResultsInFalseAndConflictBeingCounted() {
+        //given
+        LocalDateTime date = LocalDateTime.now().plusDays(10);
+        when(lessonSchedule.hasConflict(1, date, date.plusMinutes(60), 2)).thenReturn(true);
+        //when
+        boolean returned = lessonAvailability.isAvailable(date, 60, 1, 2);
+        //then
+        assertFalse(returned);
+        verify(lessonMetrics).dateChecked(DateCheck.CONFLICT);
+    }
+}
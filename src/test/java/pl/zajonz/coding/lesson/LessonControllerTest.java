@@ -0,0 +1,72 @@
+package pl.zajonz.coding.lesson;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LessonControllerTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO teacher (id, first_name, languages, deleted) "
+                + "VALUES (801, 'Export', 1, FALSE)");
+        jdbcTemplate.update("INSERT INTO student (id, first_name, teacher_id, deleted) "
+                + "VALUES (801, 'Export', 801, FALSE)");
+        for (int id = 801; id <= 803; id++) {
+            jdbcTemplate.update("INSERT INTO lesson (id, student_id, teacher_id, term, duration, deleted) "
+                    + "VALUES (?, 801, 801, ?, 60, FALSE)", id, Timestamp.valueOf(TERM.plusHours(id - 801)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM lesson WHERE teacher_id = 801");
+        jdbcTemplate.update("DELETE FROM student WHERE id = 801");
+        jdbcTemplate.update("DELETE FROM teacher WHERE id = 801");
+    }
+
+    @Test
+    void testExport_ResultsInEveryLessonBeingStreamedAsLine() throws Exception {
+        //given
+        int lessons = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lesson WHERE deleted = FALSE", Integer.class);
+        //when
+        MvcResult started = mockMvc.perform(get("/api/v1/lessons/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+        //then
+        String content = started.getResponse().getContentAsString();
+        List<String> lines = content.lines().toList();
+        assertTrue(lessons >= 3);
+        assertEquals(lessons, lines.size());
+        assertTrue(content.endsWith("\n"));
+        assertTrue(lines.stream().allMatch(line -> line.startsWith("{") && line.endsWith("}")));
+    }
+}
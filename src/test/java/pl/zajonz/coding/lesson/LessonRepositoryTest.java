@@ -0,0 +1,109 @@
+package pl.zajonz.coding.lesson;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
+import pl.zajonz.coding.student.model.Student;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LessonRepositoryTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Autowired
+    private LessonRepository lessonRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private int lessonId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Teacher teacher = entityManager.persist(Teacher.builder()
+                    .firstName("Teacher" + i)
+                    .languages(Set.of(Language.JAVA, Language.values()[i + 1]))
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                Student student = entityManager.persist(Student.builder()
+                        .firstName("Student" + i + j)
+                        .language(Language.JAVA)
+                        .teacher(teacher)
+                        .build());
+                lessonId = entityManager.persist(Lesson.builder()
+                        .teacher(teacher)
+                        .student(student)
+                        .term(TERM.plusDays(i).plusHours(j))
+                        .build()).getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllByDeletedFalse_ResultsInLessonsBeingLoadedInSingleQuery() {
+        //when
+        List<LessonDto> returned = lessonRepository.findAllByDeletedFalse().stream()
+                .map(LessonDto::fromEntity)
+                .toList();
+        //then
+        assertEquals(6, returned.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindAllDtosByDeletedFalse_ResultsInPageBeingLoadedInSingleQuery() {
+        //when
+        List<LessonDto> returned = lessonRepository.findAllDtosByDeletedFalse(PageRequest.of(0, 4));
+        //then
+        assertEquals(4, returned.size());
+        assertEquals(TERM, returned.get(0).getTerm());
+        assertEquals("Student00", returned.get(0).getStudent().getFirstName());
+        assertEquals(Set.of(Language.JAVA, Language.PYTHON), returned.get(0).getTeacher().getLanguages());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindAllDtosByDeletedFalseAfter_ResultsInLessonsAfterCursorBeingReturned() {
+        //given
+        LessonDto first = lessonRepository.findAllDtosByDeletedFalse(PageRequest.of(0, 1)).get(0);
+        //when
+        List<LessonDto> returned = lessonRepository.findAllDtosByDeletedFalseAfter(first.getTerm(), first.getId(),
+                PageRequest.of(0, 10));
+        //then
+        assertEquals(5, returned.size());
+        assertEquals(TERM.plusHours(1), returned.get(0).getTerm());
+    }
+
+    @Test
+    void testFindById_ResultsInLessonBeingLoadedInSingleQuery() {
+        //when
+        LessonDto returned = lessonRepository.findById(lessonId)
+                .map(LessonDto::fromEntity)
+                .orElseThrow();
+        //then
+        assertEquals(lessonId, returned.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,169 @@
+package pl.zajonz.coding.lesson;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.zajonz.coding.lesson.model.LessonTerm;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LessonScheduleTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @InjectMocks
+    private LessonSchedule lessonSchedule;
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Test
+    void testLoad_ResultsInTermsFromRepositoryBeingIndexed() {
+        //given
+        when(lessonRepository.findAllTermsByDeletedFalseAndTermAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(new LessonTerm(1, 1, TERM, 60)));
+        //when
+        lessonSchedule.load();
+        //then
+        assertTrue(lessonSchedule.hasConflict(1, TERM.plusMinutes(30), TERM.plusMinutes(90), 0));
+    }
+
+    @Test
+    void testHasConflict_OverlappingTerm_ResultTrueBeingReturned() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 90));
+        //when //then
+        assertTrue(lessonSchedule.hasConflict(1, TERM.plusMinutes(80), TERM.plusMinutes(140), 0));
+        assertTrue(lessonSchedule.hasConflict(1, TERM.minusMinutes(30), TERM.plusMinutes(30), 0));
+    }
+
+    @Test
+    void testHasConflict_AdjacentTerm_ResultFalseBeingReturned() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        //when //then
+        assertFalse(lessonSchedule.hasConflict(1, TERM.plusMinutes(60), TERM.plusMinutes(120), 0));
+        assertFalse(lessonSchedule.hasConflict(1, TERM.minusMinutes(45), TERM, 0));
+    }
+
+    @Test
+    void testHasConflict_OtherTeacherOrIgnoredLesson_ResultFalseBeingReturned() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        //when //then
+        assertFalse(lessonSchedule.hasConflict(2, TERM, TERM.plusMinutes(60), 0));
+        assertFalse(lessonSchedule.hasConflict(1, TERM.plusMinutes(15), TERM.plusMinutes(75), 1));
+    }
+
+    @Test
+    void testPut_ExistingLesson_ResultsInLessonBeingMoved() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        //when
+        lessonSchedule.put(new LessonTerm(1, 1, TERM.plusDays(1), 60));
+        //then
+        assertFalse(lessonSchedule.hasConflict(1, TERM, TERM.plusMinutes(60), 0));
+        assertTrue(lessonSchedule.hasConflict(1, TERM.plusDays(1), TERM.plusDays(1).plusMinutes(60), 0));
+    }
+
+    @Test
+    void testRemove_ResultsInTermBeingReleased() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        //when
+        lessonSchedule.remove(1);
+        //then
+        assertFalse(lessonSchedule.hasConflict(1, TERM, TERM.plusMinutes(60), 0));
+    }
+
+    @Test
+    void testFindBetween_ResultsInSortedTermsBeingReturned() {
+        //given
+        LessonTerm first = new LessonTerm(2, 1, TERM, 60);
+        LessonTerm second = new LessonTerm(1, 1, TERM.plusHours(2), 45);
+        lessonSchedule.put(second);
+        lessonSchedule.put(first);
+        lessonSchedule.put(new LessonTerm(3, 1, TERM.plusHours(5), 60));
+        //when
+        List<LessonTerm> returned = lessonSchedule.findBetween(1, TERM.minusHours(1), TERM.plusHours(3));
+        //then
+        assertEquals(List.of(first, second), returned);
+    }
+
+    @Test
+    void testFindConflicts_ResultsInOverlappingCandidatesBeingReturned() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM.plusDays(7), 60));
+        lessonSchedule.put(new LessonTerm(2, 1, TERM.plusDays(14).minusMinutes(30), 60));
+        lessonSchedule.put(new LessonTerm(3, 1, TERM.plusDays(21).plusMinutes(60), 60));
+        List<LessonTerm> candidates = List.of(
+                new LessonTerm(0, 1, TERM, 60),
+                new LessonTerm(0, 1, TERM.plusDays(7), 60),
+                new LessonTerm(0, 1, TERM.plusDays(14), 60),
+                new LessonTerm(0, 1, TERM.plusDays(21), 60));
+        //when
+        List<LessonTerm> returned = lessonSchedule.findConflicts(1, candidates, Set.of());
+        //then
+        assertEquals(List.of(candidates.get(1), candidates.get(2)), returned);
+    }
+
+    @Test
+    void testFindConflicts_IgnoredLessons_ResultsInNoConflictsBeingReturned() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        List<LessonTerm> candidates = List.of(new LessonTerm(1, 1, TERM.plusMinutes(30), 60));
+        //when
+        List<LessonTerm> returned = lessonSchedule.findConflicts(1, candidates, Set.of(1));
+        //then
+        assertEquals(List.of(), returned);
+    }
+
+    @Test
+    void testFindBusyTeachers_ResultsInTeachersWithLessonInTouchedSlotsBeingReturned() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        lessonSchedule.put(new LessonTerm(2, 2, TERM.plusMinutes(60), 30));
+        lessonSchedule.put(new LessonTerm(3, 3, TERM.plusMinutes(120), 60));
+        //when
+        BitSet returned = lessonSchedule.findBusyTeachers(TERM.plusMinutes(45), TERM.plusMinutes(105));
+        //then
+        assertEquals(BitSet.valueOf(new long[]{0b110}), returned);
+    }
+
+    @Test
+    void testFindBusyTeachers_LessonMovedOrRemoved_ResultsInSlotsBeingReleased() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        lessonSchedule.put(new LessonTerm(2, 2, TERM, 60));
+        //when
+        lessonSchedule.put(new LessonTerm(1, 1, TERM.plusDays(1), 60));
+        lessonSchedule.remove(2);
+        //then
+        assertTrue(lessonSchedule.findBusyTeachers(TERM, TERM.plusMinutes(60)).isEmpty());
+        assertTrue(lessonSchedule.findBusyTeachers(TERM.plusDays(1), TERM.plusDays(1).plusMinutes(15)).get(1));
+    }
+
+    @Test
+    void testPrune_ResultsInEndedTermsBeingForgotten() {
+        //given
+        lessonSchedule.put(new LessonTerm(1, 1, TERM, 60));
+        lessonSchedule.put(new LessonTerm(2, 1, TERM.plusDays(1), 60));
+        //when
+        lessonSchedule.prune(TERM.plusHours(1));
+        //then
+        assertEquals(List.of(), lessonSchedule.findBetween(1, TERM, TERM.plusMinutes(60)));
+        assertTrue(lessonSchedule.findBusyTeachers(TERM, TERM.plusMinutes(60)).isEmpty());
+        assertTrue(lessonSchedule.hasConflict(1, TERM.plusDays(1), TERM.plusDays(1).plusMinutes(60), 0));
+    }
+}
@@ -1,14 +1,26 @@
 package pl.zajonz.coding.lesson;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import pl.zajonz.coding.common.ResourceVersions;
 import pl.zajonz.coding.common.exception.InvalidDateException;
 import pl.zajonz.coding.lesson.model.Lesson;
+import pl.zajonz.coding.lesson.model.LessonSeries;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
+import pl.zajonz.coding.lesson.model.Recurrence;
 import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.CreateLessonSeriesCommand;
+import pl.zajonz.coding.lesson.model.dto.LessonBatchResultDto;
 import pl.zajonz.coding.student.StudentRepository;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.teacher.TeacherRepository;
@@ -16,9 +28,13 @@ import pl.zajonz.coding.teacher.model.Teacher;
 
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,7 +43,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class LessonServiceImplTest {
 
-    @InjectMocks
     private LessonServiceImpl lessonServiceImpl;
     @Mock
     private LessonRepository lessonRepository;
@@ -35,6 +50,27 @@ class LessonServiceImplTest {
     private TeacherRepository teacherRepository;
     @Mock
     private StudentRepository studentRepository;
+    @Mock
+    private LessonSlotRepository lessonSlotRepository;
+    @Mock
+    private LessonSeriesRepository lessonSeriesRepository;
+    @Mock
+    private LessonSchedule lessonSchedule;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private ResourceVersions resourceVersions;
+    @Mock
+    private LessonMetrics lessonMetrics;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @BeforeEach
+    void setUp() {
+        lessonServiceImpl = new LessonServiceImpl(lessonRepository, teacherRepository, studentRepository,
+                lessonSlotRepository, lessonSeriesRepository, lessonSchedule,
+                new LessonAvailability(lessonSchedule, lessonMetrics), validator, entityManager, resourceVersions);
+    }
 
     @Test
     void testFindAllByDeletedFalse_ResultsInLessonListBeingReturned() {
@@ -59,6 +95,21 @@ class LessonServiceImplTest {
         assertEquals(resultsFromRepo, returned);
     }
 
+    @Test
+    void testExportAllByDeletedFalse_ResultsInEachLessonBeingConsumedAndDetached() {
+        //given
+        Lesson first = Lesson.builder().id(1).build();
+        Lesson second = Lesson.builder().id(2).build();
+        List<Lesson> consumed = new ArrayList<>();
+        when(lessonRepository.streamAllByDeletedFalse()).thenReturn(Stream.of(first, second));
+        //when
+        lessonServiceImpl.exportAllByDeletedFalse(consumed::add);
+        //then
+        assertEquals(List.of(first, second), consumed);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
     @Test
     void testSave_CorrectValues_ResultsInLessonBeingSaved() {
         //given
@@ -120,13 +171,197 @@ class LessonServiceImplTest {
         command.setStudentId(1);
         command.setTerm(termOccupied);
 
-        when(lessonRepository.existsByTeacherIdAndTermBetween(
-                anyInt(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+        when(lessonSchedule.hasConflict(
+                anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(true);
+        //when //then
+        InvalidDateException exception = assertThrows(
+                InvalidDateException.class,
+                () -> lessonServiceImpl.save(command));
+        assertEquals(exceptionMsg, exception.getMessage());
+    }
+
+    @Test
+    void testSave_SlotTakenConcurrently_ResultsInInvalidDateException() {
+        //given
+        LocalDateTime date = LocalDateTime.now().plusDays(10);
+        String exceptionMsg = "Invalid date " + date;
+        CreateLessonCommand command = new CreateLessonCommand();
+        command.setTeacherId(1);
+        command.setStudentId(1);
+        command.setTerm(date);
+        Teacher teacher = Teacher.builder()
+                .id(1)
+                .firstName("TestTeacher")
+                .build();
+        Student student = Student.builder()
+                .firstName("TestStudent")
+                .build();
+        Lesson lesson = Lesson.builder()
+                .student(student)
+                .teacher(teacher)
+                .term(date)
+                .build();
+
+        when(teacherRepository.findById(anyInt())).thenReturn(Optional.of(teacher));
+        when(studentRepository.findById(anyInt())).thenReturn(Optional.of(student));
+        when(lessonRepository.save(any(Lesson.class))).thenReturn(lesson);
+        when(lessonSlotRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
         //when //then
         InvalidDateException exception = assertThrows(
                 InvalidDateException.class,
                 () -> lessonServiceImpl.save(command));
         assertEquals(exceptionMsg, exception.getMessage());
+        verify(lessonSchedule, never()).put(any());
+    }
+
+    @Test
+    void testSaveAll_MixedCommands_ResultsInPerItemResultsBeingReturned() {
+        //given
+        LocalDateTime date = LessonSlot.slotOf(LocalDateTime.now().plusDays(10));
+        Teacher teacher = Teacher.builder()
+                .id(1)
+                .firstName("TestTeacher")
+                .build();
+        Student student = Student.builder()
+                .id(1)
+                .firstName("TestStudent")
+                .build();
+        CreateLessonCommand valid = new CreateLessonCommand();
+        valid.setTeacherId(1);
+        valid.setStudentId(1);
+        valid.setTerm(date);
+        CreateLessonCommand overlapping = new CreateLessonCommand();
+        overlapping.setTeacherId(1);
+        overlapping.setStudentId(1);
+        overlapping.setTerm(date.plusMinutes(30));
+        CreateLessonCommand unknownTeacher = new CreateLessonCommand();
+        unknownTeacher.setTeacherId(2);
+        unknownTeacher.setStudentId(1);
+        unknownTeacher.setTerm(date);
+        CreateLessonCommand invalid = new CreateLessonCommand();
+        invalid.setTeacherId(1);
+        invalid.setStudentId(1);
+
+        when(teacherRepository.findAllById(anySet())).thenReturn(List.of(teacher));
+        when(studentRepository.findAllById(anySet())).thenReturn(List.of(student));
+        when(lessonRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        List<LessonBatchResultDto> returned = lessonServiceImpl.saveAll(
+                List.of(valid, overlapping, unknownTeacher, invalid));
+
+        //then
+        assertEquals(4, returned.size());
+        assertEquals(true, returned.get(0).isCreated());
+        assertEquals(date, returned.get(0).getLesson().getTerm());
+        assertEquals("Invalid date " + overlapping.getTerm(), returned.get(1).getError());
+        assertEquals("Teacher with id=2 has not been found", returned.get(2).getError());
+        assertEquals("term: term cannot be null", returned.get(3).getError());
+        verify(lessonSlotRepository).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testSaveAll_TermOrDurationNotAlignedToSlots_ResultsInValidationErrorsBeingReturned() {
+        //given
+        LocalDateTime date = LessonSlot.slotOf(LocalDateTime.now().plusDays(10));
+        CreateLessonCommand unalignedTerm = new CreateLessonCommand();
+        unalignedTerm.setTeacherId(1);
+        unalignedTerm.setStudentId(1);
+        unalignedTerm.setTerm(date.plusMinutes(5));
+        CreateLessonCommand unalignedDuration = new CreateLessonCommand();
+        unalignedDuration.setTeacherId(1);
+        unalignedDuration.setStudentId(1);
+        unalignedDuration.setTerm(date);
+        unalignedDuration.setDuration(20);
+
+        //when
+        List<LessonBatchResultDto> returned = lessonServiceImpl.saveAll(List.of(unalignedTerm, unalignedDuration));
+
+        //then
+        assertEquals("termAligned: term has to start at a multiple of 15 minutes", returned.get(0).getError());
+        assertEquals("durationAligned: duration has to be a multiple of 15 minutes", returned.get(1).getError());
+        verify(lessonRepository).saveAll(List.of());
+    }
+
+    @Test
+    void testSaveAll_TooManyCommands_ResultsInIllegalArgumentException() {
+        //given
+        List<CreateLessonCommand> commands = Collections.nCopies(
+                LessonServiceImpl.MAX_BATCH_SIZE + 1, new CreateLessonCommand());
+
+        //when //then
+        assertThrows(IllegalArgumentException.class, () -> lessonServiceImpl.saveAll(commands));
+        verifyNoInteractions(lessonRepository);
+    }
+
+    @Test
+    void testSaveSeries_CorrectValues_ResultsInAllOccurrencesBeingSaved() {
+        //given
+        LocalDateTime firstTerm = LocalDateTime.now().plusDays(1);
+        CreateLessonSeriesCommand command = new CreateLessonSeriesCommand();
+        command.setTeacherId(1);
+        command.setStudentId(1);
+        command.setFirstTerm(firstTerm);
+        command.setRecurrence(Recurrence.WEEKLY);
+        command.setEndDate(firstTerm.plusWeeks(3).toLocalDate());
+        Teacher teacher = Teacher.builder()
+                .id(1)
+                .firstName("TestTeacher")
+                .build();
+        Student student = Student.builder()
+                .firstName("TestStudent")
+                .build();
+
+        when(teacherRepository.findById(anyInt())).thenReturn(Optional.of(teacher));
+        when(studentRepository.findById(anyInt())).thenReturn(Optional.of(student));
+        when(lessonSeriesRepository.save(any(LessonSeries.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(lessonRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        List<Lesson> returned = lessonServiceImpl.saveSeries(command);
+
+        //then
+        assertEquals(4, returned.size());
+        assertEquals(firstTerm, returned.get(0).getTerm());
+        assertEquals(firstTerm.plusWeeks(3), returned.get(3).getTerm());
+        verify(lessonSchedule).findConflicts(eq(1), anyList(), eq(Set.of()));
+        verify(lessonSlotRepository).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testSaveSeries_OccurrenceOccupied_ResultsInInvalidDateException() {
+        //given
+        LocalDateTime firstTerm = LocalDateTime.now().plusDays(1);
+        CreateLessonSeriesCommand command = new CreateLessonSeriesCommand();
+        command.setTeacherId(1);
+        command.setStudentId(1);
+        command.setFirstTerm(firstTerm);
+        command.setRecurrence(Recurrence.WEEKLY);
+        command.setOccurrences(10);
+        LessonTerm occupied = new LessonTerm(0, 1, firstTerm.plusWeeks(2), Lesson.DEFAULT_DURATION);
+
+        when(lessonSchedule.findConflicts(eq(1), anyList(), anySet())).thenReturn(List.of(occupied));
+
+        //when //then
+        InvalidDateException exception = assertThrows(
+                InvalidDateException.class,
+                () -> lessonServiceImpl.saveSeries(command));
+        assertEquals("Invalid date " + occupied.getStart(), exception.getMessage());
+        verifyNoInteractions(lessonSeriesRepository);
+    }
+
+    @Test
+    void testDeleteSeries_IncorrectId_ResultsInEntityNotFoundException() {
+        //given
+        when(lessonSeriesRepository.findById(1)).thenReturn(Optional.empty());
+
+        //when //then
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> lessonServiceImpl.deleteSeries(1));
+        assertEquals("Lesson series with id=1 has not been found", exception.getMessage());
     }
 
     @Test
@@ -186,6 +421,8 @@ class LessonServiceImplTest {
         lessonServiceImpl.deleteById(lessonId);
         //then
         verify(lessonRepository).deleteById(lessonId);
+        verify(lessonSlotRepository).deleteAllByLessonId(lessonId);
+        verify(lessonSchedule).remove(lessonId);
     }
 
     @Test
@@ -313,8 +550,8 @@ class LessonServiceImplTest {
                 .term(dateOccupied)
                 .build();
         when(lessonRepository.findById(lessonId)).thenReturn(Optional.of(lesson));
-        when(lessonRepository.existsByTeacherIdAndTermBetween(
-                anyInt(), any(LocalDateTime.class),any(LocalDateTime.class))).thenReturn(true);
+        when(lessonSchedule.hasConflict(
+                anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(true);
         //when //then
         InvalidDateException exception = assertThrows(
                 InvalidDateException.class,
@@ -362,39 +599,12 @@ class LessonServiceImplTest {
         //given
         LocalDateTime date = LocalDateTime.now().plusDays(10);
         int teacherId = 1;
-        when(lessonRepository.existsByTeacherIdAndTermBetween(
-                teacherId, date.minusMinutes(59),
-                date.plusMinutes(59))).thenReturn(false);
+        when(lessonSchedule.hasConflict(
+                teacherId, date, date.plusMinutes(Lesson.DEFAULT_DURATION), 0)).thenReturn(false);
         //when
-        Boolean returned = lessonServiceImpl.checkDate(date, teacherId);
+        Boolean returned = lessonServiceImpl.checkDate(date, Lesson.DEFAULT_DURATION, teacherId);
         //then
         assertEquals(true, returned);
+        verify(lessonMetrics).dateChecked(LessonMetrics.DateCheck.FREE);
     }
-
-    @Test
-    void testCheckDate_DateInPast_ResultFalseBeingReturned() {
-        //given
-        LocalDateTime date = LocalDateTime.now().minusDays(10);
-        int teacherId = 1;
-
-        //when
-        Boolean returned = lessonServiceImpl.checkDate(date, teacherId);
-        //then
-        assertEquals(false, returned);
-    }
-
-    @Test
-    void testCheckDate_DateOccupied_ResultFalseBeingReturned() {
-        //given
-        LocalDateTime date = LocalDateTime.now().plusDays(10);
-        int teacherId = 1;
-
-        when(lessonRepository.existsByTeacherIdAndTermBetween(
-                teacherId, date.minusMinutes(59),
-                date.plusMinutes(59))).thenReturn(true);
-        //when
-        Boolean returned = lessonServiceImpl.checkDate(date, teacherId);
-        //then
-        assertEquals(false, returned);
-    }
-}
\ No newline at end of file
+}
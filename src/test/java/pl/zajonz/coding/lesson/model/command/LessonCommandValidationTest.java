@@ -0,0 +1,95 @@
+package pl.zajonz.coding.lesson.model.command;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import pl.zajonz.coding.lesson.model.Recurrence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LessonCommandValidationTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testCreateLessonCommand_TermsAndDurationsAlignedToSlots_ResultsInNoViolations() {
+        //given
+        CreateLessonCommand command = new CreateLessonCommand();
+        command.setTeacherId(1);
+        command.setStudentId(1);
+        command.setTerm(TERM.plusMinutes(45));
+        command.setDuration(75);
+        //when
+        List<String> returned = violations(command);
+        //then
+        assertEquals(List.of(), returned);
+    }
+
+    @Test
+    void testCreateLessonCommand_TermOrDurationNotAligned_ResultsInViolations() {
+        //given
+        CreateLessonCommand command = new CreateLessonCommand();
+        command.setTeacherId(1);
+        command.setStudentId(1);
+        command.setTerm(TERM.plusMinutes(5).plusSeconds(30));
+        command.setDuration(20);
+        //when
+        List<String> returned = violations(command);
+        //then
+        assertEquals(List.of("durationAligned", "termAligned"), returned);
+    }
+
+    @Test
+    void testCreateLessonSeriesCommand_FirstTermOrDurationNotAligned_ResultsInViolations() {
+        //given
+        CreateLessonSeriesCommand command = new CreateLessonSeriesCommand();
+        command.setTeacherId(1);
+        command.setStudentId(1);
+        command.setFirstTerm(TERM.plusMinutes(10));
+        command.setDuration(50);
+        command.setRecurrence(Recurrence.WEEKLY);
+        command.setOccurrences(4);
+        //when
+        List<String> returned = violations(command);
+        //then
+        assertEquals(List.of("durationAligned", "firstTermAligned"), returned);
+    }
+
+    @Test
+    void testUpdateLessonTermCommand_TermNotAligned_ResultsInViolation() {
+        //given
+        UpdateLessonTermCommand command = new UpdateLessonTermCommand();
+        command.setTerm(TERM.plusMinutes(20));
+        //when
+        List<String> returned = violations(command);
+        //then
+        assertEquals(List.of("termAligned"), returned);
+    }
+
+    @Test
+    void testShiftLessonSeriesCommand_MinutesNotAligned_ResultsInViolation() {
+        //given
+        ShiftLessonSeriesCommand aligned = new ShiftLessonSeriesCommand();
+        aligned.setMinutes(-45);
+        ShiftLessonSeriesCommand notAligned = new ShiftLessonSeriesCommand();
+        notAligned.setMinutes(10);
+        //when //then
+        assertEquals(List.of(), violations(aligned));
+        assertEquals(List.of("minutesAligned"), violations(notAligned));
+    }
+
+    private <T> List<String> violations(T command) {
+        Set<ConstraintViolation<T>> violations = validator.validate(command);
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath().toString())
+                .sorted()
+                .toList();
+    }
+}
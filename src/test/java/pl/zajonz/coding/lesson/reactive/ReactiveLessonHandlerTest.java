@@ -0,0 +1,137 @@
+package pl.zajonz.coding.lesson.reactive;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.common.exception.InvalidDateException;
+import pl.zajonz.coding.lesson.model.command.CreateLessonCommand;
+import pl.zajonz.coding.lesson.model.command.UpdateLessonTermCommand;
+import pl.zajonz.coding.lesson.model.dto.LessonDto;
+import pl.zajonz.coding.student.model.dto.StudentDto;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLessonHandlerTest {
+
+    private static final LocalDateTime TERM = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Mock
+    private ReactiveLessonService reactiveLessonService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveLessonHandler handler = new ReactiveLessonHandler(reactiveLessonService, new ResourceVersions(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        webTestClient = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @Test
+    void testCreate_ValidCommand_ResultsInCreatedLessonBeingReturned() {
+        //given
+        when(reactiveLessonService.save(any(CreateLessonCommand.class))).thenReturn(Mono.just(lesson()));
+        //when //then
+        webTestClient.post().uri("/api/v1/lessons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("studentId", 1, "teacherId", 1, "term", TERM.toString()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.teacher.id").isEqualTo(1);
+    }
+
+    @Test
+    void testCreate_InvalidCommand_ResultsInValidationErrorsBeingReturned() {
+        //when //then
+        webTestClient.post().uri("/api/v1/lessons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("studentId", 0))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation errors")
+                .jsonPath("$.violations.length()").isEqualTo(3);
+        verifyNoInteractions(reactiveLessonService);
+    }
+
+    @Test
+    void testFindById_LessonNotFound_ResultsInNotFoundStatus() {
+        //given
+        when(reactiveLessonService.findDtoById(1))
+                .thenReturn(Mono.error(new EntityNotFoundException("Lesson with id=1 has not been found")));
+        //when //then
+        webTestClient.get().uri("/api/v1/lessons/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Lesson with id=1 has not been found");
+    }
+
+    @Test
+    void testFindById_MatchingETag_ResultsInNotModifiedStatus() {
+        //given
+        when(reactiveLessonService.findDtoById(1)).thenReturn(Mono.just(lesson()));
+        String eTag = webTestClient.get().uri("/api/v1/lessons/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        //when //then
+        webTestClient.get().uri("/api/v1/lessons/1")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testUpdateTerm_TermTaken_ResultsInBadRequestStatus() {
+        //given
+        when(reactiveLessonService.updateTerm(eq(1), any(UpdateLessonTermCommand.class)))
+                .thenReturn(Mono.error(new InvalidDateException("Invalid date " + TERM)));
+        //when //then
+        webTestClient.patch().uri("/api/v1/lessons/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("term", TERM.toString()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid date " + TERM);
+    }
+
+    @Test
+    void testDeleteLesson_ResultsInNoContentStatus() {
+        //given
+        when(reactiveLessonService.deleteById(anyInt())).thenReturn(Mono.empty());
+        //when //then
+        webTestClient.delete().uri("/api/v1/lessons/1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    private static LessonDto lesson() {
+        return new LessonDto(1, new TeacherDto(1, "Teacher", "Testowy", Set.of(Language.JAVA)),
+                new StudentDto(1, "Student", "Testowy", Language.JAVA), TERM, 60, null);
+    }
+}
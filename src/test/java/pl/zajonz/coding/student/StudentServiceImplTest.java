@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.ResourceVersions;
 import pl.zajonz.coding.student.model.Student;
 import pl.zajonz.coding.student.model.command.CreateStudentCommand;
 import pl.zajonz.coding.teacher.TeacherRepository;
@@ -32,6 +33,8 @@ class StudentServiceImplTest {
 
     @Mock
     private TeacherRepository teacherRepository;
+    @Mock
+    private ResourceVersions resourceVersions;
 
 //    @Captor
 //    private ArgumentCaptor<Student> studentArgumentCaptor;
@@ -0,0 +1,80 @@
+package pl.zajonz.coding.teacher;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.model.Teacher;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TeacherCacheTest {
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int teacherId;
+
+    @BeforeEach
+    void setUp() {
+        teacherId = teacherRepository.save(Teacher.builder()
+                .firstName("Test")
+                .languages(Set.of(Language.JAVA))
+                .build()).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        teacherRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testFindById_SecondLoad_ResultsInTeacherBeingReadFromCache() {
+        //when
+        teacherRepository.findById(teacherId);
+        teacherRepository.findById(teacherId);
+        //then
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSave_LanguagesChanged_ResultsInCachedTeacherBeingUpdated() {
+        //given
+        Teacher teacher = teacherRepository.findById(teacherId).orElseThrow();
+        teacher.setLanguages(Set.of(Language.PYTHON));
+        //when
+        teacherRepository.save(teacher);
+        //then
+        assertEquals(Set.of(Language.PYTHON), teacherRepository.findById(teacherId).orElseThrow().getLanguages());
+    }
+
+    @Test
+    void testDeleteById_ResultsInCachedTeacherBeingInvalidated() {
+        //given
+        teacherRepository.findById(teacherId);
+        //when
+        teacherRepository.deleteById(teacherId);
+        //then
+        assertTrue(teacherRepository.findById(teacherId).orElseThrow().isDeleted());
+    }
+}
@@ -6,11 +6,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import pl.zajonz.coding.common.Cursor;
 import pl.zajonz.coding.common.Language;
 import pl.zajonz.coding.teacher.model.Teacher;
 import pl.zajonz.coding.teacher.model.command.CreateTeacherCommand;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,11 +22,17 @@ import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,21 +52,23 @@ class TeacherControllerTest {
     @Test
     void testFindAll() throws Exception {
         //given
-        Teacher teacher = Teacher.builder()
+        TeacherDto teacher = TeacherDto.builder()
                 .id(1)
                 .firstName("Test")
                 .lastName("Testowy")
                 .languages(Set.of(Language.JAVA))
                 .build();
-        List<Teacher> teachers = List.of(teacher);
+        List<TeacherDto> teachers = List.of(teacher);
 
 //        teacherRepository.save(teacher);
-        when(teacherRepository.findAllByDeletedFalse()).thenReturn(teachers);
+        when(teacherRepository.findAllDtosByDeletedFalseAndIdGreaterThan(eq(0), any(Pageable.class)))
+                .thenReturn(teachers);
 
         //when //then
         mockMvc.perform(get("/api/v1/teachers"))
                 .andDo(print())
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(Cursor.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$", hasSize(teachers.size())))
                 .andExpect(jsonPath("$.[0]", notNullValue()))
@@ -66,16 +78,44 @@ class TeacherControllerTest {
     }
 
     @Test
-    void testFindById() throws Exception {
+    void testFindAll_FullPage_ResultsInNextCursorBeingReturned() throws Exception {
         //given
-        Teacher teacher = Teacher.builder()
-                .id(1)
+        TeacherDto teacher = TeacherDto.builder()
+                .id(7)
                 .firstName("Test")
                 .lastName("Testowy")
                 .languages(Set.of(Language.JAVA))
                 .build();
 
-        when(teacherRepository.findById(anyInt())).thenReturn(Optional.of(teacher));
+        when(teacherRepository.findAllDtosByDeletedFalseAndIdGreaterThan(eq(5), any(Pageable.class)))
+                .thenReturn(List.of(teacher));
+
+        //when //then
+        mockMvc.perform(get("/api/v1/teachers")
+                        .param("after", Cursor.encode(5))
+                        .param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, Cursor.encode(7)));
+    }
+
+    @Test
+    void testFindAll_InvalidCursor_ResultsInBadRequest() throws Exception {
+        //when //then
+        mockMvc.perform(get("/api/v1/teachers")
+                        .param("after", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", equalTo("Invalid cursor not-a-cursor")));
+    }
+
+    @Test
+    void testFindById() throws Exception {
+        //given
+        TeacherDto teacher = new TeacherDto(1, "Test", "Testowy", Set.of(Language.JAVA));
+
+        when(teacherRepository.findDtoById(anyInt())).thenReturn(Optional.of(teacher));
 
         //when //then
         mockMvc.perform(get("/api/v1/teachers/1"))
@@ -87,11 +127,33 @@ class TeacherControllerTest {
         //lepiej sprawdzić wszystkie dane
     }
 
+    @Test
+    void testFindById_MatchingETag_ResultsInNotModified() throws Exception {
+        //given
+        TeacherDto teacher = new TeacherDto(2, "Test", "Testowy", Set.of(Language.JAVA));
+
+        when(teacherRepository.findDtoById(2)).thenReturn(Optional.of(teacher));
+
+        String etag = mockMvc.perform(get("/api/v1/teachers/2"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when //then
+        mockMvc.perform(get("/api/v1/teachers/2")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(teacherRepository, times(1)).findDtoById(2);
+    }
+
     @Test
     void testFindByIdNotFound() throws Exception {
         //given
 
-        when(teacherRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(teacherRepository.findDtoById(anyInt())).thenReturn(Optional.empty());
 
         //when //then
         mockMvc.perform(get("/api/v1/teachers/100"))
@@ -0,0 +1,123 @@
+package pl.zajonz.coding.teacher;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherLanguageIndexTest {
+
+    @InjectMocks
+    private TeacherLanguageIndex teacherLanguageIndex;
+    @Mock
+    private TeacherRepository teacherRepository;
+    @Mock
+    private TeacherLanguageResponseCache teacherLanguageResponseCache;
+
+    @Test
+    void testLoad_ResultsInTeachersBeingIndexedByLanguage() {
+        //given
+        when(teacherRepository.findAllDtosByDeletedFalse()).thenReturn(List.of(
+                teacher(1, Set.of(Language.JAVA, Language.PYTHON)),
+                teacher(2, Set.of(Language.JAVA))));
+        //when
+        teacherLanguageIndex.load();
+        //then
+        assertEquals(BitSet.valueOf(new long[]{0b110}), teacherLanguageIndex.findTeacherIds(Language.JAVA));
+        assertEquals(BitSet.valueOf(new long[]{0b10}), teacherLanguageIndex.findTeacherIds(Language.PYTHON));
+    }
+
+    @Test
+    void testFindTeachers_ResultsInIndexedTeachersOrderedById() {
+        //given
+        TeacherDto first = teacher(1, Set.of(Language.JAVA));
+        TeacherDto second = teacher(2, Set.of(Language.C));
+        teacherLanguageIndex.put(second);
+        teacherLanguageIndex.put(first);
+        BitSet ids = BitSet.valueOf(new long[]{0b1110});
+        //when
+        List<TeacherDto> returned = teacherLanguageIndex.findTeachers(ids);
+        //then
+        assertEquals(List.of(first, second), returned);
+        verifyNoInteractions(teacherRepository);
+    }
+
+    @Test
+    void testPut_ResultsInLanguagesOfTeacherBeingReplaced() {
+        //given
+        teacherLanguageIndex.put(teacher(1, Set.of(Language.JAVA, Language.C)));
+        //when
+        teacherLanguageIndex.put(teacher(1, Set.of(Language.C)));
+        //then
+        assertEquals(new BitSet(), teacherLanguageIndex.findTeacherIds(Language.JAVA));
+        assertEquals(BitSet.valueOf(new long[]{0b10}), teacherLanguageIndex.findTeacherIds(Language.C));
+    }
+
+    @Test
+    void testRemove_ResultsInTeacherBeingRemovedFromEveryLanguage() {
+        //given
+        teacherLanguageIndex.put(teacher(1, Set.of(Language.JAVA, Language.C)));
+        //when
+        teacherLanguageIndex.remove(1);
+        //then
+        assertEquals(new BitSet(), teacherLanguageIndex.findTeacherIds(Language.JAVA));
+        assertEquals(new BitSet(), teacherLanguageIndex.findTeacherIds(Language.C));
+        assertEquals(List.of(), teacherLanguageIndex.findTeachers(BitSet.valueOf(new long[]{0b10})));
+    }
+
+    @Test
+    void testReconcile_ResultsInIndexBeingReplacedWithDatabaseState() {
+        //given
+        teacherLanguageIndex.put(teacher(1, Set.of(Language.JAVA)));
+        when(teacherRepository.findAllDtosByDeletedFalse()).thenReturn(List.of(
+                teacher(2, Set.of(Language.JAVA))));
+        //when
+        teacherLanguageIndex.reconcile();
+        //then
+        assertEquals(BitSet.valueOf(new long[]{0b100}), teacherLanguageIndex.findTeacherIds(Language.JAVA));
+        verify(teacherLanguageResponseCache).invalidate();
+    }
+
+    @Test
+    void testReconcile_IndexInSync_ResultsInResponsesBeingKept() {
+        //given
+        teacherLanguageIndex.put(teacher(2, Set.of(Language.JAVA)));
+        when(teacherRepository.findAllDtosByDeletedFalse()).thenReturn(List.of(
+                teacher(2, Set.of(Language.JAVA))));
+        //when
+        teacherLanguageIndex.reconcile();
+        //then
+        verifyNoInteractions(teacherLanguageResponseCache);
+    }
+
+    @Test
+    void testReconcile_WriteDuringLoad_ResultsInWriteBeingKept() {
+        //given
+        when(teacherRepository.findAllDtosByDeletedFalse()).thenAnswer(invocation -> {
+            teacherLanguageIndex.put(teacher(3, Set.of(Language.JS)));
+            return List.of(teacher(2, Set.of(Language.JAVA)));
+        });
+        //when
+        teacherLanguageIndex.reconcile();
+        //then
+        assertEquals(BitSet.valueOf(new long[]{0b1000}), teacherLanguageIndex.findTeacherIds(Language.JS));
+        assertEquals(BitSet.valueOf(new long[]{0b100}), teacherLanguageIndex.findTeacherIds(Language.JAVA));
+    }
+
+    private static TeacherDto teacher(int id, Set<Language> languages) {
+        return new TeacherDto(id, "Test", "Testowy", languages);
+    }
+}
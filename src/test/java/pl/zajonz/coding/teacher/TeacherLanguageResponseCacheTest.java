@@ -0,0 +1,70 @@
+package pl.zajonz.coding.teacher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TeacherLanguageResponseCacheTest {
+
+    private final TeacherLanguageResponseCache cache = new TeacherLanguageResponseCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testFind_ResultsInTeachersBeingSerialized() {
+        //when
+        byte[] returned = cache.find(Language.JAVA, this::load);
+        //then
+        assertEquals("[{\"id\":1,\"firstName\":\"Test\",\"lastName\":\"Testowy\",\"languages\":[\"JAVA\"]}]",
+                new String(returned, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFind_SecondCall_ResultsInCachedBytesBeingReturned() {
+        //given
+        byte[] first = cache.find(Language.JAVA, this::load);
+        //when
+        byte[] returned = cache.find(Language.JAVA, this::load);
+        //then
+        assertSame(first, returned);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFind_AfterInvalidate_ResultsInTeachersBeingLoadedAgain() {
+        //given
+        cache.find(Language.JAVA, this::load);
+        cache.find(Language.PYTHON, this::load);
+        //when
+        cache.invalidate();
+        cache.find(Language.JAVA, this::load);
+        //then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testFind_InvalidatedDuringLoad_ResultsInResponseNotBeingReused() {
+        //given
+        cache.find(Language.JAVA, () -> {
+            cache.invalidate();
+            return load();
+        });
+        //when
+        cache.find(Language.JAVA, this::load);
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    private List<TeacherDto> load() {
+        loads.incrementAndGet();
+        return List.of(new TeacherDto(1, "Test", "Testowy", Set.of(Language.JAVA)));
+    }
+}
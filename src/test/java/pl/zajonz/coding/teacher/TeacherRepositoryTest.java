@@ -0,0 +1,82 @@
+package pl.zajonz.coding.teacher;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.teacher.model.Teacher;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class TeacherRepositoryTest {
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindAllDtosByDeletedFalseAndLanguage_ResultsInActiveTeachersKnowingLanguageBeingReturned() {
+        //given
+        Teacher java = persist("Java", false, Set.of(Language.JAVA, Language.PYTHON));
+        persist("Python", false, Set.of(Language.PYTHON));
+        persist("Deleted", true, Set.of(Language.JAVA));
+        entityManager.clear();
+        //when
+        List<TeacherDto> returned = teacherRepository.findAllDtosByDeletedFalseAndLanguage(Language.JAVA);
+        //then
+        assertEquals(1, returned.size());
+        assertEquals(java.getId(), returned.get(0).getId());
+        assertEquals(Set.of(Language.JAVA, Language.PYTHON), returned.get(0).getLanguages());
+    }
+
+    @Test
+    void testSave_LanguagesChanged_ResultsInMaskBeingUpdated() {
+        //given
+        Teacher teacher = persist("Java", false, Set.of(Language.JAVA));
+        entityManager.clear();
+        Teacher found = teacherRepository.findById(teacher.getId()).orElseThrow();
+        found.setLanguages(Set.of(Language.KOBOL));
+        //when
+        teacherRepository.saveAndFlush(found);
+        entityManager.clear();
+        //then
+        assertEquals(Set.of(Language.KOBOL), teacherRepository.findById(teacher.getId()).orElseThrow().getLanguages());
+        assertEquals(List.of(), teacherRepository.findAllDtosByDeletedFalseAndLanguage(Language.JAVA));
+    }
+
+    @Test
+    void testSaveAll_ResultsInIdsBeingTakenFromAllocatedBlock() {
+        //given
+        List<Teacher> teachers = List.of(
+                Teacher.builder().firstName("First").languages(Set.of(Language.JAVA)).build(),
+                Teacher.builder().firstName("Second").languages(Set.of(Language.JAVA)).build(),
+                Teacher.builder().firstName("Third").languages(Set.of(Language.JAVA)).build());
+        //when
+        List<Teacher> returned = teacherRepository.saveAllAndFlush(teachers);
+        //then
+        int first = returned.get(0).getId();
+        assertEquals(List.of(first, first + 1, first + 2), returned.stream().map(Teacher::getId).toList());
+        assertTrue(first + 2 < jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generator WHERE name = 'teacher'", Long.class));
+    }
+
+    private Teacher persist(String firstName, boolean deleted, Set<Language> languages) {
+        Teacher teacher = Teacher.builder()
+                .firstName(firstName)
+                .deleted(deleted)
+                .languages(languages)
+                .build();
+        return entityManager.persistAndFlush(teacher);
+    }
+}
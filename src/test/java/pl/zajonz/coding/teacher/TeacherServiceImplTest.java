@@ -7,9 +7,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import pl.zajonz.coding.common.Language;
+import pl.zajonz.coding.common.ResourceVersions;
+import pl.zajonz.coding.lesson.LessonSchedule;
+import pl.zajonz.coding.lesson.model.LessonSlot;
+import pl.zajonz.coding.lesson.model.LessonTerm;
 import pl.zajonz.coding.teacher.model.Teacher;
 import pl.zajonz.coding.teacher.model.command.UpdateTeacherLanguageCommand;
+import pl.zajonz.coding.teacher.model.dto.FreeSlotDto;
+import pl.zajonz.coding.teacher.model.dto.TeacherDto;
 
+import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -19,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class) //zaprzęga do pracy Mockito (@Mock oraz @InjectMocks)
@@ -30,6 +39,18 @@ class TeacherServiceImplTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private LessonSchedule lessonSchedule;
+
+    @Mock
+    private TeacherLanguageIndex teacherLanguageIndex;
+
+    @Mock
+    private TeacherLanguageResponseCache teacherLanguageResponseCache;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
     //poniższa metoda robi praktycznie to samo co adnotacje @Mock oraz @InjectMocks
 //    @BeforeEach
 //    void init() {
@@ -70,25 +91,41 @@ class TeacherServiceImplTest {
 
         //then
         assertEquals(teacher, returned);
+        verify(teacherLanguageIndex).put(TeacherDto.fromEntity(teacher));
+        verify(teacherLanguageResponseCache).invalidate();
     }
 
     @Test
     void testFindAllByLanguagesContainingAndDeletedFalse_ResultsInTeacherListBeingReturned() {
         //given
         Language language = Language.JAVA;
-        Teacher teacher = Teacher.builder()
-                .firstName("Test")
-                .languages(Set.of(language))
-                .build();
-        List<Teacher> teachersFromRepo = List.of(teacher);
+        BitSet knowingLanguage = new BitSet();
+        knowingLanguage.set(1);
+        TeacherDto teacher = new TeacherDto(1, "Test", "Testowy", Set.of(language));
+        List<TeacherDto> teachersFromIndex = List.of(teacher);
 
-        when(teacherRepository.findAllByLanguagesContainingAndDeletedFalse(language)).thenReturn(teachersFromRepo);
+        when(teacherLanguageIndex.findTeacherIds(language)).thenReturn(knowingLanguage);
+        when(teacherLanguageIndex.findTeachers(knowingLanguage)).thenReturn(teachersFromIndex);
 
         //when
-        List<Teacher> returned = teacherServiceImpl.findAllByLanguagesContainingAndDeletedFalse(language);
+        List<TeacherDto> returned = teacherServiceImpl.findAllByLanguagesContainingAndDeletedFalse(language);
 
         //then
-        assertEquals(teachersFromRepo, returned);
+        assertEquals(teachersFromIndex, returned);
+        verifyNoInteractions(teacherRepository);
+    }
+
+    @Test
+    void testFindAllByLanguagesContainingAndDeletedFalse_NoTeacherInIndex_ResultsInEmptyListWithoutQuery() {
+        //given
+        when(teacherLanguageIndex.findTeacherIds(Language.KOBOL)).thenReturn(new BitSet());
+
+        //when
+        List<TeacherDto> returned = teacherServiceImpl.findAllByLanguagesContainingAndDeletedFalse(Language.KOBOL);
+
+        //then
+        assertEquals(List.of(), returned);
+        verifyNoInteractions(teacherRepository);
     }
 
     @Test
@@ -101,6 +138,8 @@ class TeacherServiceImplTest {
 
         //then
         verify(teacherRepository).deleteById(teacherId);
+        verify(teacherLanguageIndex).remove(teacherId);
+        verify(teacherLanguageResponseCache).invalidate();
     }
 
     @Test
@@ -210,4 +249,116 @@ class TeacherServiceImplTest {
 
         assertEquals(exceptionMsg,exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAvailability_CorrectValues_ResultsInFreeSlotsBeingReturned() {
+        //given
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime to = from.plusHours(8);
+        when(teacherRepository.existsById(1)).thenReturn(true);
+        when(lessonSchedule.findBetween(1, from, to)).thenReturn(List.of(
+                new LessonTerm(1, 1, from.minusMinutes(30), 60),
+                new LessonTerm(2, 1, from.plusMinutes(60), 90),
+                new LessonTerm(3, 1, from.plusMinutes(240), 60)));
+
+        //when
+        List<FreeSlotDto> returned = teacherServiceImpl.findAvailability(1, from, to, 60);
+
+        //then
+        assertEquals(2, returned.size());
+        assertEquals(from.plusMinutes(150), returned.get(0).getFrom());
+        assertEquals(from.plusMinutes(240), returned.get(0).getTo());
+        assertEquals(from.plusMinutes(300), returned.get(1).getFrom());
+        assertEquals(to, returned.get(1).getTo());
+    }
+
+    @Test
+    void testFindAvailability_RangeNotAlignedToSlots_ResultsInFreeSlotsStartingAtSlotsBeingReturned() {
+        //given
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withHour(8).withMinute(5).withSecond(0).withNano(0);
+        LocalDateTime to = from.plusHours(2);
+        when(teacherRepository.existsById(1)).thenReturn(true);
+        when(lessonSchedule.findBetween(1, from.plusMinutes(10), to)).thenReturn(List.of(
+                new LessonTerm(1, 1, from.plusMinutes(25), 40)));
+
+        //when
+        List<FreeSlotDto> returned = teacherServiceImpl.findAvailability(1, from, to, 30);
+
+        //then
+        assertEquals(1, returned.size());
+        assertEquals(from.plusMinutes(70), returned.get(0).getFrom());
+        assertEquals(to, returned.get(0).getTo());
+    }
+
+    @Test
+    void testFindAvailability_TeacherNotFound_ResultsInEntityNotFoundException() {
+        //given
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        when(teacherRepository.existsById(1)).thenReturn(false);
+
+        //when
+        //then
+        assertThrows(EntityNotFoundException.class,
+                () -> teacherServiceImpl.findAvailability(1, from, from.plusHours(8), 60));
+        verifyNoInteractions(lessonSchedule);
+    }
+
+    @Test
+    void testFindAvailability_RangeTooLong_ResultsInIllegalArgumentException() {
+        //given
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(40);
+
+        //when //then
+        assertThrows(IllegalArgumentException.class,
+                () -> teacherServiceImpl.findAvailability(1, from, to, 60));
+    }
+
+    @Test
+    void testFindAllAvailable_ResultsInFreeTeachersKnowingLanguageBeingReturned() {
+        //given
+        LocalDateTime at = LessonSlot.nextSlotOf(LocalDateTime.now().plusDays(1));
+        BitSet knowingLanguage = new BitSet();
+        knowingLanguage.set(1);
+        knowingLanguage.set(2);
+        BitSet busy = new BitSet();
+        busy.set(2);
+        busy.set(3);
+        BitSet available = new BitSet();
+        available.set(1);
+        TeacherDto teacher = new TeacherDto(1, "Free", "Teacher", Set.of(Language.PYTHON));
+
+        when(teacherLanguageIndex.findTeacherIds(Language.PYTHON)).thenReturn(knowingLanguage);
+        when(lessonSchedule.findBusyTeachers(at, at.plusMinutes(60))).thenReturn(busy);
+        when(teacherLanguageIndex.findTeachers(available)).thenReturn(List.of(teacher));
+
+        //when
+        List<TeacherDto> returned = teacherServiceImpl.findAllAvailable(Language.PYTHON, at, 60);
+
+        //then
+        assertEquals(List.of(teacher), returned);
+        verifyNoInteractions(teacherRepository);
+    }
+
+    @Test
+    void testFindAllAvailable_DurationTooLong_ResultsInIllegalArgumentException() {
+        //given
+        LocalDateTime at = LessonSlot.nextSlotOf(LocalDateTime.now().plusDays(1));
+
+        //when //then
+        assertThrows(IllegalArgumentException.class,
+                () -> teacherServiceImpl.findAllAvailable(Language.JAVA, at, Integer.MAX_VALUE));
+        verifyNoInteractions(lessonSchedule);
+    }
+
+    @Test
+    void testFindAllAvailable_TermNotAlignedToSlots_ResultsInIllegalArgumentException() {
+        //given
+        LocalDateTime at = LessonSlot.nextSlotOf(LocalDateTime.now().plusDays(1)).plusMinutes(5);
+
+        //when //then
+        assertThrows(IllegalArgumentException.class,
+                () -> teacherServiceImpl.findAllAvailable(Language.JAVA, at, 60));
+        verifyNoInteractions(lessonSchedule);
+    }
+}